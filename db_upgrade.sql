@@ -0,0 +1,47 @@
+/*
+已有数据库升级脚本，新建库直接使用db.sql
+*/
+
+USE `springboott01gx`;
+
+/* token表: 同一用户同一角色只保留最新一条，登录时通过 INSERT ... ON DUPLICATE KEY UPDATE 覆盖 */
+
+DELETE t1 FROM `token` t1 JOIN `token` t2 ON t1.`userid` = t2.`userid` AND t1.`role` = t2.`role` AND t1.`id` < t2.`id`;
+
+ALTER TABLE `token` ADD UNIQUE KEY `uk_token_userid_role` (`userid`,`role`);
+
+/* token表: 按token查询及按过期时间分批清理 */
+
+ALTER TABLE `token` ADD KEY `idx_token_token` (`token`), ADD KEY `idx_token_expiratedtime` (`expiratedtime`);
+
+/* 美食订单按小时统计: 按店铺和下单时间(小时)汇总，由订单新增、修改、删除维护，首次升级时从已有订单生成 */
+
+CREATE TABLE IF NOT EXISTS `meishidingdan_tongji` (
+  `id` bigint(20) NOT NULL AUTO_INCREMENT COMMENT '主键',
+  `dianpuzhanghao` varchar(200) NOT NULL DEFAULT '' COMMENT '店铺账号',
+  `shijian` datetime NOT NULL COMMENT '统计时段(按小时)',
+  `dingdanshu` int(11) NOT NULL DEFAULT '0' COMMENT '下单数',
+  `goumaishuliang` int(11) NOT NULL DEFAULT '0' COMMENT '购买数量',
+  `zongjiage` decimal(16,2) NOT NULL DEFAULT '0.00' COMMENT '下单金额',
+  `zhifushu` int(11) NOT NULL DEFAULT '0' COMMENT '支付订单数',
+  `zhifujine` decimal(16,2) NOT NULL DEFAULT '0.00' COMMENT '支付金额',
+  PRIMARY KEY (`id`),
+  UNIQUE KEY `uk_meishidingdan_tongji` (`dianpuzhanghao`,`shijian`),
+  KEY `idx_meishidingdan_tongji_shijian` (`shijian`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8 COMMENT='美食订单按小时统计';
+
+DELETE FROM `meishidingdan_tongji`;
+
+INSERT INTO `meishidingdan_tongji` (`dianpuzhanghao`,`shijian`,`dingdanshu`,`goumaishuliang`,`zongjiage`,`zhifushu`,`zhifujine`)
+SELECT IFNULL(`dianpuzhanghao`, ''), DATE_FORMAT(IFNULL(`xiadanshijian`, `addtime`), '%Y-%m-%d %H:00:00'), COUNT(1), SUM(IFNULL(`goumaishuliang`, 0)),
+  SUM(IF(TRIM(`zongjiage`) REGEXP '^[0-9]+(\\.[0-9]+)?$', TRIM(`zongjiage`), 0)),
+  SUM(IF(`ispay` = '已支付', 1, 0)),
+  SUM(IF(`ispay` = '已支付' AND TRIM(`zongjiage`) REGEXP '^[0-9]+(\\.[0-9]+)?$', TRIM(`zongjiage`), 0))
+FROM `meishidingdan`
+GROUP BY 1, 2;
+
+/* 游标分页: 订单和评价按时间排序时用(排序字段,id)索引定位，翻页深度不影响耗时 */
+
+ALTER TABLE `meishidingdan` ADD KEY `idx_meishidingdan_addtime` (`addtime`,`id`), ADD KEY `idx_meishidingdan_xiadanshijian` (`xiadanshijian`,`id`);
+
+ALTER TABLE `meishipingjia` ADD KEY `idx_meishipingjia_addtime` (`addtime`,`id`), ADD KEY `idx_meishipingjia_pingjiashijian` (`pingjiashijian`,`id`);
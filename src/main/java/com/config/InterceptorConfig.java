@@ -1,12 +1,15 @@
 package com.config;
 
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
 import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
 import org.springframework.web.servlet.config.annotation.ResourceHandlerRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurationSupport;
 
 import com.interceptor.AuthorizationInterceptor;
+import com.interceptor.CorsPreflightFilter;
 
 @Configuration
 public class InterceptorConfig extends WebMvcConfigurationSupport{
@@ -16,6 +19,17 @@ public class InterceptorConfig extends WebMvcConfigurationSupport{
         return new AuthorizationInterceptor();
     }
 	
+	/**
+	 * 跨域过滤器，优先于其他过滤器执行
+	 */
+	@Bean
+	public FilterRegistrationBean<CorsPreflightFilter> corsPreflightFilter() {
+		FilterRegistrationBean<CorsPreflightFilter> registration = new FilterRegistrationBean<CorsPreflightFilter>(new CorsPreflightFilter());
+		registration.addUrlPatterns("/*");
+		registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+		return registration;
+	}
+	
 	@Override
     public void addInterceptors(InterceptorRegistry registry) {
         registry.addInterceptor(getAuthorizationInterceptor()).addPathPatterns("/**").excludePathPatterns("/static/**");
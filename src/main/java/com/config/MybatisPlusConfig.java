@@ -6,6 +6,8 @@ import org.springframework.context.annotation.Configuration;
 
 import com.baomidou.mybatisplus.mapper.MetaObjectHandler;
 import com.baomidou.mybatisplus.plugins.PaginationInterceptor;
+import com.interceptor.TableVersionInterceptor;
+import com.utils.TableVersions;
 
 /**
  * mybatis-plus配置
@@ -20,5 +22,13 @@ public class MybatisPlusConfig {
     public PaginationInterceptor paginationInterceptor() {
         return new PaginationInterceptor();
     }
+
+    /**
+     * 表版本号插件，写操作后使查询缓存失效
+     */
+    @Bean
+    public TableVersionInterceptor tableVersionInterceptor(TableVersions tableVersions) {
+        return new TableVersionInterceptor(tableVersions);
+    }
     
 }
@@ -10,6 +10,7 @@ import java.util.Date;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.regex.Pattern;
 
 import org.apache.commons.lang3.StringUtils;
 import org.json.JSONObject;
@@ -20,6 +21,7 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.ServletWebRequest;
 
 import com.annotation.IgnoreAuth;
 import com.baidu.aip.face.AipFace;
@@ -32,6 +34,7 @@ import com.service.CommonService;
 import com.service.ConfigService;
 import com.utils.BaiduUtil;
 import com.utils.FileUtil;
+import com.utils.MD5Util;
 import com.utils.R;
 
 /**
@@ -47,17 +50,18 @@ public class CommonController{
 	
 	private static AipFace client = null;
 	
-	private static String BAIDU_DITU_AK = null;
+	/**
+	 * 批量统计中允许的表名和列名
+	 */
+	private static final Pattern NAME = Pattern.compile("[A-Za-z0-9_]+");
 	
 	@RequestMapping("/location")
 	public R location(String lng,String lat) {
-		if(BAIDU_DITU_AK==null) {
-			BAIDU_DITU_AK = configService.selectOne(new EntityWrapper<ConfigEntity>().eq("name", "baidu_ditu_ak")).getValue();
-			if(BAIDU_DITU_AK==null) {
-				return R.error("请在配置管理中正确配置baidu_ditu_ak");
-			}
+		String baiduDituAk = configService.getValue("baidu_ditu_ak");
+		if(baiduDituAk==null) {
+			return R.error("请在配置管理中正确配置baidu_ditu_ak");
 		}
-		Map<String, String> map = BaiduUtil.getCityByLonLat(BAIDU_DITU_AK, lng, lat);
+		Map<String, String> map = BaiduUtil.getCityByLonLat(baiduDituAk, lng, lat);
 		return R.ok().put("data", map);
 	}
 	
@@ -72,8 +76,8 @@ public class CommonController{
 	public R matchFace(String face1, String face2) {
 		if(client==null) {
 			/*String AppID = configService.selectOne(new EntityWrapper<ConfigEntity>().eq("name", "AppID")).getValue();*/
-			String APIKey = configService.selectOne(new EntityWrapper<ConfigEntity>().eq("name", "APIKey")).getValue();
-			String SecretKey = configService.selectOne(new EntityWrapper<ConfigEntity>().eq("name", "SecretKey")).getValue();
+			String APIKey = configService.getValue("APIKey");
+			String SecretKey = configService.getValue("SecretKey");
 			String token = BaiduUtil.getAuth(APIKey, SecretKey);
 			if(token==null) {
 				return R.error("请在配置管理中正确配置APIKey和SecretKey");
@@ -112,7 +116,12 @@ public class CommonController{
 	 */
 	@IgnoreAuth
 	@RequestMapping("/option/{tableName}/{columnName}")
-	public R getOption(@PathVariable("tableName") String tableName, @PathVariable("columnName") String columnName,String level,String parent) {
+	public R getOption(@PathVariable("tableName") String tableName, @PathVariable("columnName") String columnName,String level,String parent,
+			ServletWebRequest webRequest) {
+		//匿名接口，名称不合法的请求不进入缓存和表版本号
+		if(!NAME.matcher(tableName).matches() || !NAME.matcher(columnName).matches()) {
+			return R.error("表名或列名格式错误");
+		}
 		Map<String, Object> params = new HashMap<String, Object>();
 		params.put("table", tableName);
 		params.put("column", columnName);
@@ -123,9 +132,27 @@ public class CommonController{
 			params.put("parent", parent);
 		}
 		List<String> data = commonService.getOption(params);
+		//选项内容不变时返回304，浏览器每次使用前重新验证
+		webRequest.getResponse().setHeader("Cache-Control", "no-cache");
+		if(webRequest.checkNotModified(optionTag(data))) {
+			return null;
+		}
 		return R.ok().put("data", data);
 	}
 	
+	/**
+	 * 选项列表的ETag，按内容计算MD5
+	 * 不用表版本号：版本号只在本进程内有效，重启或多节点时不同内容可能得到相同的版本号
+	 */
+	private static String optionTag(List<String> options) {
+		StringBuilder content = new StringBuilder();
+		for(String option : options) {
+			//以长度为前缀，选项中含有分隔符也不会与其他列表拼出相同的内容
+			content.append(option == null ? -1 : option.length()).append(':').append(option).append('\u0001');
+		}
+		return "W/\"" + MD5Util.md5(content.toString()) + "\"";
+	}
+	
 	/**
 	 * 根据table中的column获取单条记录
 	 * @param table
@@ -245,4 +272,61 @@ public class CommonController{
 		return R.ok().put("data", result);
 	}
 	
+	/**
+	 * 批量统计，一次请求计算同一张表的多个分组、按值和单列统计，只扫描一次表
+	 * 请求内容: {"group":["列"],"value":[{"xColumn":"x列","yColumn":"y列"}],"cal":["列"]}
+	 * 返回的group、value、cal与请求中的顺序一致
+	 */
+	@IgnoreAuth
+	@SuppressWarnings("unchecked")
+	@RequestMapping("/batch/{tableName}")
+	public R batch(@PathVariable("tableName") String tableName, @RequestBody Map<String, Object> params) {
+		List<String> groups = new ArrayList<String>();
+		List<String[]> values = new ArrayList<String[]>();
+		List<String> cals = new ArrayList<String>();
+		if(params.get("group") instanceof List) {
+			for(Object column : (List<?>) params.get("group")) {
+				groups.add(String.valueOf(column));
+			}
+		}
+		if(params.get("value") instanceof List) {
+			for(Object item : (List<?>) params.get("value")) {
+				if(!(item instanceof Map)) {
+					return R.error("value格式错误");
+				}
+				Map<?, ?> xy = (Map<?, ?>) item;
+				values.add(new String[] { String.valueOf(xy.get("xColumn")), String.valueOf(xy.get("yColumn")) });
+			}
+		}
+		if(params.get("cal") instanceof List) {
+			for(Object column : (List<?>) params.get("cal")) {
+				cals.add(String.valueOf(column));
+			}
+		}
+		List<String> names = new ArrayList<String>(groups);
+		names.addAll(cals);
+		names.add(tableName);
+		for(String[] xy : values) {
+			names.add(xy[0]);
+			names.add(xy[1]);
+		}
+		for(String name : names) {
+			if(!NAME.matcher(name).matches()) {
+				return R.error("表名或列名格式错误: " + name);
+			}
+		}
+		Map<String, Object> result = commonService.selectBatch(tableName, groups, values, cals);
+		SimpleDateFormat sdf = new SimpleDateFormat("yyyy-MM-dd");
+		for(Object list : (List<?>) result.get("value")) {
+			for(Map<String, Object> m : (List<Map<String, Object>>) list) {
+				for(String k : m.keySet()) {
+					if(m.get(k) instanceof Date) {
+						m.put(k, sdf.format((Date)m.get(k)));
+					}
+				}
+			}
+		}
+		return R.ok().put("data", result);
+	}
+	
 }
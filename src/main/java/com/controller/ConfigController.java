@@ -12,6 +12,7 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 import com.annotation.IgnoreAuth;
 import com.baomidou.mybatisplus.mapper.EntityWrapper;
@@ -19,6 +20,7 @@ import com.entity.ConfigEntity;
 import com.service.ConfigService;
 import com.utils.PageUtils;
 import com.utils.R;
+import com.utils.SQLFilter;
 import com.utils.ValidatorUtils;
 
 /**
@@ -46,8 +48,13 @@ public class ConfigController{
      */
     @IgnoreAuth
     @RequestMapping("/list")
-    public R list(@RequestParam Map<String, Object> params,ConfigEntity config){
-        EntityWrapper<ConfigEntity> ew = new EntityWrapper<ConfigEntity>();
+    public R list(@RequestParam Map<String, Object> params,ConfigEntity config, WebRequest webRequest){
+    	//配置未变化时返回304
+    	String etag = "\"" + configService.getVersion() + "-" + params.get("page") + "-" + params.get("limit")
+    			+ "-" + SQLFilter.sqlInject((String) params.get("sidx")) + "-" + SQLFilter.sqlInject((String) params.get("order")) + "\"";
+    	if(webRequest.checkNotModified(etag)) {
+    		return null;
+    	}
     	PageUtils page = configService.queryPage(params);
         return R.ok().put("data", page);
     }
@@ -76,7 +83,7 @@ public class ConfigController{
      */
     @RequestMapping("/info")
     public R infoByName(@RequestParam String name){
-        ConfigEntity config = configService.selectOne(new EntityWrapper<ConfigEntity>().eq("name", "faceFile"));
+        ConfigEntity config = configService.selectByName("faceFile");
         return R.ok().put("data", config);
     }
     
@@ -87,6 +94,7 @@ public class ConfigController{
     public R save(@RequestBody ConfigEntity config){
 //    	ValidatorUtils.validateEntity(config);
     	configService.insert(config);
+    	configService.reload();
         return R.ok();
     }
 
@@ -97,6 +105,7 @@ public class ConfigController{
     public R update(@RequestBody ConfigEntity config){
 //        ValidatorUtils.validateEntity(config);
         configService.updateById(config);//全部更新
+        configService.reload();
         return R.ok();
     }
 
@@ -106,6 +115,7 @@ public class ConfigController{
     @RequestMapping("/delete")
     public R delete(@RequestBody Long[] ids){
     	configService.deleteBatchIds(Arrays.asList(ids));
+    	configService.reload();
         return R.ok();
     }
 }
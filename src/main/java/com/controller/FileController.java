@@ -63,15 +63,16 @@ public class FileController{
 		File dest = new File(upload.getAbsolutePath()+"/"+fileName);
 		file.transferTo(dest);
 		if(StringUtils.isNotBlank(type) && type.equals("1")) {
-			ConfigEntity configEntity = configService.selectOne(new EntityWrapper<ConfigEntity>().eq("name", "faceFile"));
-			if(configEntity==null) {
-				configEntity = new ConfigEntity();
-				configEntity.setName("faceFile");
-				configEntity.setValue(fileName);
-			} else {
-				configEntity.setValue(fileName);
+			//快照中的对象只读，另建实体写入
+			ConfigEntity existing = configService.selectByName("faceFile");
+			ConfigEntity configEntity = new ConfigEntity();
+			if(existing!=null) {
+				configEntity.setId(existing.getId());
 			}
+			configEntity.setName("faceFile");
+			configEntity.setValue(fileName);
 			configService.insertOrUpdate(configEntity);
+			configService.reload();
 		}
 		return R.ok().put("file", fileName);
 	}
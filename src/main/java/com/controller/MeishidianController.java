@@ -1,5 +1,6 @@
 package com.controller;
 
+import java.io.IOException;
 import java.text.SimpleDateFormat;
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -10,6 +11,8 @@ import java.util.Iterator;
 import java.util.Date;
 import java.util.List;
 import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import javax.servlet.http.HttpSession;
 
 import com.utils.ValidatorUtils;
 import org.apache.commons.lang3.StringUtils;
@@ -24,11 +27,14 @@ import com.baomidou.mybatisplus.mapper.EntityWrapper;
 import com.baomidou.mybatisplus.mapper.Wrapper;
 import com.annotation.IgnoreAuth;
 
+import com.interceptor.AuthorizationInterceptor;
 import com.entity.MeishidianEntity;
 import com.entity.view.MeishidianView;
 
 import com.service.MeishidianService;
 import com.service.TokenService;
+import com.utils.PageQueryTemplate;
+import com.utils.JsonStreamWriter;
 import com.utils.PageUtils;
 import com.utils.R;
 import com.utils.MD5Util;
@@ -49,6 +55,14 @@ public class MeishidianController {
     @Autowired
     private MeishidianService meishidianService;
     
+    @Autowired
+    private JsonStreamWriter jsonStreamWriter;
+    
+    /**
+     * 前端列表默认返回的字段，店铺列表不返回店铺介绍和招牌美食，可通过fields参数指定
+     */
+    private static final String LIST_FIELDS = "-dianpujieshao,-zhaopaimeishi";
+    
 	@Autowired
 	private TokenService tokenService;
 	
@@ -89,7 +103,11 @@ public class MeishidianController {
 	 */
 	@RequestMapping("/logout")
 	public R logout(HttpServletRequest request) {
-		request.getSession().invalidate();
+		tokenService.revokeToken(request.getHeader(AuthorizationInterceptor.LOGIN_TOKEN_KEY));
+		HttpSession session = request.getSession(false);
+		if(session != null) {
+			session.invalidate();
+		}
 		return R.ok("退出成功");
 	}
 	
@@ -98,11 +116,34 @@ public class MeishidianController {
      */
     @RequestMapping("/session")
     public R getCurrUser(HttpServletRequest request){
-    	Long id = (Long)request.getSession().getAttribute("userId");
-        MeishidianEntity user = meishidianService.selectById(id);
+    	Long id = (Long)request.getAttribute("userId");
+        MeishidianEntity user = meishidianService.selectSessionById(id);
         return R.ok().put("data", user);
     }
     
+    /**
+     * 修改密码，/session不返回密码，原密码在服务端校验
+     */
+    @RequestMapping("/updatePassword")
+    public R updatePassword(String password, String newpassword, HttpServletRequest request){
+    	if(!"meishidian".equals(request.getAttribute("tableName"))) {
+    		return R.error("没有权限");
+    	}
+    	if(StringUtils.isBlank(newpassword)) {
+    		return R.error("新密码不能为空");
+    	}
+    	Long id = (Long)request.getAttribute("userId");
+    	MeishidianEntity user = meishidianService.selectById(id);
+    	if(user==null || password==null || !password.equals(user.getMima())) {
+    		return R.error("原密码错误");
+    	}
+    	MeishidianEntity update = new MeishidianEntity();
+    	update.setId(id);
+    	update.setMima(newpassword);
+        meishidianService.updateById(update);
+        return R.ok();
+    }
+    
     /**
      * 密码重置
      */
@@ -138,6 +179,9 @@ public class MeishidianController {
     @RequestMapping("/list")
     public R list(@RequestParam Map<String, Object> params,MeishidianEntity meishidian, HttpServletRequest request){
         EntityWrapper<MeishidianEntity> ew = new EntityWrapper<MeishidianEntity>();
+        if(!params.containsKey(PageQueryTemplate.FIELDS)) {
+        	params.put(PageQueryTemplate.FIELDS, LIST_FIELDS);
+        }
 		PageUtils page = meishidianService.queryPage(params, MPUtil.sort(MPUtil.between(MPUtil.likeOrEq(ew, meishidian), params), params));
         return R.ok().put("data", page);
     }
@@ -146,10 +190,10 @@ public class MeishidianController {
      * 列表
      */
     @RequestMapping("/lists")
-    public R list( MeishidianEntity meishidian){
+    public void list( MeishidianEntity meishidian, HttpServletResponse response) throws IOException {
        	EntityWrapper<MeishidianEntity> ew = new EntityWrapper<MeishidianEntity>();
       	ew.allEq(MPUtil.allEQMapPre( meishidian, "meishidian")); 
-        return R.ok().put("data", meishidianService.selectListView(ew));
+        jsonStreamWriter.writeList(response, handler -> meishidianService.selectListView(ew, handler));
     }
 
 	 /**
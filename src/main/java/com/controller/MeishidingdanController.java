@@ -1,5 +1,6 @@
 package com.controller;
 
+import java.io.IOException;
 import java.text.SimpleDateFormat;
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -10,6 +11,7 @@ import java.util.Iterator;
 import java.util.Date;
 import java.util.List;
 import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
 
 import com.utils.ValidatorUtils;
 import org.apache.commons.lang3.StringUtils;
@@ -28,7 +30,9 @@ import com.entity.MeishidingdanEntity;
 import com.entity.view.MeishidingdanView;
 
 import com.service.MeishidingdanService;
+import com.service.MeishixinxiTrendingService;
 import com.service.TokenService;
+import com.utils.JsonStreamWriter;
 import com.utils.PageUtils;
 import com.utils.R;
 import com.utils.MD5Util;
@@ -49,6 +53,12 @@ public class MeishidingdanController {
     @Autowired
     private MeishidingdanService meishidingdanService;
     
+    @Autowired
+    private JsonStreamWriter jsonStreamWriter;
+
+    @Autowired
+    private MeishixinxiTrendingService meishixinxiTrendingService;
+    
 
 
     /**
@@ -57,12 +67,12 @@ public class MeishidingdanController {
     @RequestMapping("/page")
     public R page(@RequestParam Map<String, Object> params,MeishidingdanEntity meishidingdan,
 		HttpServletRequest request){
-		String tableName = request.getSession().getAttribute("tableName").toString();
+		String tableName = request.getAttribute("tableName").toString();
 		if(tableName.equals("meishidian")) {
-			meishidingdan.setDianpuzhanghao((String)request.getSession().getAttribute("username"));
+			meishidingdan.setDianpuzhanghao((String)request.getAttribute("username"));
 		}
 		if(tableName.equals("yonghu")) {
-			meishidingdan.setYonghuzhanghao((String)request.getSession().getAttribute("username"));
+			meishidingdan.setYonghuzhanghao((String)request.getAttribute("username"));
 		}
         EntityWrapper<MeishidingdanEntity> ew = new EntityWrapper<MeishidingdanEntity>();
 		PageUtils page = meishidingdanService.queryPage(params, MPUtil.sort(MPUtil.between(MPUtil.likeOrEq(ew, meishidingdan), params), params));
@@ -84,10 +94,10 @@ public class MeishidingdanController {
      * 列表
      */
     @RequestMapping("/lists")
-    public R list( MeishidingdanEntity meishidingdan){
+    public void list( MeishidingdanEntity meishidingdan, HttpServletResponse response) throws IOException {
        	EntityWrapper<MeishidingdanEntity> ew = new EntityWrapper<MeishidingdanEntity>();
       	ew.allEq(MPUtil.allEQMapPre( meishidingdan, "meishidingdan")); 
-        return R.ok().put("data", meishidingdanService.selectListView(ew));
+        jsonStreamWriter.writeList(response, handler -> meishidingdanService.selectListView(ew, handler));
     }
 
 	 /**
@@ -141,6 +151,7 @@ public class MeishidingdanController {
     	meishidingdan.setId(new Date().getTime()+new Double(Math.floor(Math.random()*1000)).longValue());
     	//ValidatorUtils.validateEntity(meishidingdan);
         meishidingdanService.insert(meishidingdan);
+        meishixinxiTrendingService.recordOrder(meishidingdan);
         return R.ok();
     }
 
@@ -202,12 +213,12 @@ public class MeishidingdanController {
 			wrapper.le(columnName, map.get("remindend"));
 		}
 
-		String tableName = request.getSession().getAttribute("tableName").toString();
+		String tableName = request.getAttribute("tableName").toString();
 		if(tableName.equals("meishidian")) {
-			wrapper.eq("dianpuzhanghao", (String)request.getSession().getAttribute("username"));
+			wrapper.eq("dianpuzhanghao", (String)request.getAttribute("username"));
 		}
 		if(tableName.equals("yonghu")) {
-			wrapper.eq("yonghuzhanghao", (String)request.getSession().getAttribute("username"));
+			wrapper.eq("yonghuzhanghao", (String)request.getAttribute("username"));
 		}
 
 		int count = meishidingdanService.selectCount(wrapper);
@@ -1,5 +1,6 @@
 package com.controller;
 
+import java.io.IOException;
 import java.text.SimpleDateFormat;
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -10,6 +11,7 @@ import java.util.Iterator;
 import java.util.Date;
 import java.util.List;
 import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
 
 import com.utils.ValidatorUtils;
 import org.apache.commons.lang3.StringUtils;
@@ -29,6 +31,7 @@ import com.entity.view.MeishifenleiView;
 
 import com.service.MeishifenleiService;
 import com.service.TokenService;
+import com.utils.JsonStreamWriter;
 import com.utils.PageUtils;
 import com.utils.R;
 import com.utils.MD5Util;
@@ -49,6 +52,9 @@ public class MeishifenleiController {
     @Autowired
     private MeishifenleiService meishifenleiService;
     
+    @Autowired
+    private JsonStreamWriter jsonStreamWriter;
+    
 
 
     /**
@@ -77,10 +83,10 @@ public class MeishifenleiController {
      * 列表
      */
     @RequestMapping("/lists")
-    public R list( MeishifenleiEntity meishifenlei){
+    public void list( MeishifenleiEntity meishifenlei, HttpServletResponse response) throws IOException {
        	EntityWrapper<MeishifenleiEntity> ew = new EntityWrapper<MeishifenleiEntity>();
       	ew.allEq(MPUtil.allEQMapPre( meishifenlei, "meishifenlei")); 
-        return R.ok().put("data", meishifenleiService.selectListView(ew));
+        jsonStreamWriter.writeList(response, handler -> meishifenleiService.selectListView(ew, handler));
     }
 
 	 /**
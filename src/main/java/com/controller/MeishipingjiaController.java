@@ -1,5 +1,6 @@
 package com.controller;
 
+import java.io.IOException;
 import java.text.SimpleDateFormat;
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -10,6 +11,7 @@ import java.util.Iterator;
 import java.util.Date;
 import java.util.List;
 import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
 
 import com.utils.ValidatorUtils;
 import org.apache.commons.lang3.StringUtils;
@@ -29,6 +31,7 @@ import com.entity.view.MeishipingjiaView;
 
 import com.service.MeishipingjiaService;
 import com.service.TokenService;
+import com.utils.JsonStreamWriter;
 import com.utils.PageUtils;
 import com.utils.R;
 import com.utils.MD5Util;
@@ -49,6 +52,9 @@ public class MeishipingjiaController {
     @Autowired
     private MeishipingjiaService meishipingjiaService;
     
+    @Autowired
+    private JsonStreamWriter jsonStreamWriter;
+    
 
 
     /**
@@ -57,12 +63,12 @@ public class MeishipingjiaController {
     @RequestMapping("/page")
     public R page(@RequestParam Map<String, Object> params,MeishipingjiaEntity meishipingjia,
 		HttpServletRequest request){
-		String tableName = request.getSession().getAttribute("tableName").toString();
+		String tableName = request.getAttribute("tableName").toString();
 		if(tableName.equals("meishidian")) {
-			meishipingjia.setDianpuzhanghao((String)request.getSession().getAttribute("username"));
+			meishipingjia.setDianpuzhanghao((String)request.getAttribute("username"));
 		}
 		if(tableName.equals("yonghu")) {
-			meishipingjia.setYonghuzhanghao((String)request.getSession().getAttribute("username"));
+			meishipingjia.setYonghuzhanghao((String)request.getAttribute("username"));
 		}
         EntityWrapper<MeishipingjiaEntity> ew = new EntityWrapper<MeishipingjiaEntity>();
 		PageUtils page = meishipingjiaService.queryPage(params, MPUtil.sort(MPUtil.between(MPUtil.likeOrEq(ew, meishipingjia), params), params));
@@ -85,10 +91,10 @@ public class MeishipingjiaController {
      * 列表
      */
     @RequestMapping("/lists")
-    public R list( MeishipingjiaEntity meishipingjia){
+    public void list( MeishipingjiaEntity meishipingjia, HttpServletResponse response) throws IOException {
        	EntityWrapper<MeishipingjiaEntity> ew = new EntityWrapper<MeishipingjiaEntity>();
       	ew.allEq(MPUtil.allEQMapPre( meishipingjia, "meishipingjia")); 
-        return R.ok().put("data", meishipingjiaService.selectListView(ew));
+        jsonStreamWriter.writeList(response, handler -> meishipingjiaService.selectListView(ew, handler));
     }
 
 	 /**
@@ -204,12 +210,12 @@ public class MeishipingjiaController {
 			wrapper.le(columnName, map.get("remindend"));
 		}
 
-		String tableName = request.getSession().getAttribute("tableName").toString();
+		String tableName = request.getAttribute("tableName").toString();
 		if(tableName.equals("meishidian")) {
-			wrapper.eq("dianpuzhanghao", (String)request.getSession().getAttribute("username"));
+			wrapper.eq("dianpuzhanghao", (String)request.getAttribute("username"));
 		}
 		if(tableName.equals("yonghu")) {
-			wrapper.eq("yonghuzhanghao", (String)request.getSession().getAttribute("username"));
+			wrapper.eq("yonghuzhanghao", (String)request.getAttribute("username"));
 		}
 
 		int count = meishipingjiaService.selectCount(wrapper);
@@ -1,5 +1,6 @@
 package com.controller;
 
+import java.io.IOException;
 import java.text.SimpleDateFormat;
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -10,6 +11,7 @@ import java.util.Iterator;
 import java.util.Date;
 import java.util.List;
 import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
 
 import com.utils.ValidatorUtils;
 import org.apache.commons.lang3.StringUtils;
@@ -27,8 +29,12 @@ import com.annotation.IgnoreAuth;
 import com.entity.MeishixinxiEntity;
 import com.entity.view.MeishixinxiView;
 
+import com.service.MeishixinxiRankService;
 import com.service.MeishixinxiService;
+import com.service.MeishixinxiTrendingService;
 import com.service.TokenService;
+import com.utils.PageQueryTemplate;
+import com.utils.JsonStreamWriter;
 import com.utils.PageUtils;
 import com.utils.R;
 import com.utils.MD5Util;
@@ -49,6 +55,30 @@ public class MeishixinxiController {
     @Autowired
     private MeishixinxiService meishixinxiService;
     
+    @Autowired
+    private JsonStreamWriter jsonStreamWriter;
+    
+    /**
+     * 前端列表默认返回的字段，美食列表不返回详情，可通过fields参数指定
+     */
+    private static final String LIST_FIELDS = "-xiangqing";
+    
+    @Autowired
+    private MeishixinxiRankService meishixinxiRankService;
+    
+    @Autowired
+    private MeishixinxiTrendingService meishixinxiTrendingService;
+    
+    /**
+     * 智能排序中可以直接使用点击排行的参数，出现其他参数时查询数据库
+     */
+    private static final List<String> RANK_PARAMS = Arrays.asList("page", "limit", "meishifenlei", "sort", "order", "pre");
+
+    /**
+     * 热度趋势支持的统计窗口
+     */
+    private static final List<String> TRENDING_WINDOWS = Arrays.asList("1h", "24h", "7d");
+
 
 
     /**
@@ -57,9 +87,9 @@ public class MeishixinxiController {
     @RequestMapping("/page")
     public R page(@RequestParam Map<String, Object> params,MeishixinxiEntity meishixinxi,
 		HttpServletRequest request){
-		String tableName = request.getSession().getAttribute("tableName").toString();
+		String tableName = request.getAttribute("tableName").toString();
 		if(tableName.equals("meishidian")) {
-			meishixinxi.setDianpuzhanghao((String)request.getSession().getAttribute("username"));
+			meishixinxi.setDianpuzhanghao((String)request.getAttribute("username"));
 		}
         EntityWrapper<MeishixinxiEntity> ew = new EntityWrapper<MeishixinxiEntity>();
 		PageUtils page = meishixinxiService.queryPage(params, MPUtil.sort(MPUtil.between(MPUtil.likeOrEq(ew, meishixinxi), params), params));
@@ -74,6 +104,9 @@ public class MeishixinxiController {
     @RequestMapping("/list")
     public R list(@RequestParam Map<String, Object> params,MeishixinxiEntity meishixinxi, HttpServletRequest request){
         EntityWrapper<MeishixinxiEntity> ew = new EntityWrapper<MeishixinxiEntity>();
+        if(!params.containsKey(PageQueryTemplate.FIELDS)) {
+        	params.put(PageQueryTemplate.FIELDS, LIST_FIELDS);
+        }
 		PageUtils page = meishixinxiService.queryPage(params, MPUtil.sort(MPUtil.between(MPUtil.likeOrEq(ew, meishixinxi), params), params));
         return R.ok().put("data", page);
     }
@@ -82,10 +115,10 @@ public class MeishixinxiController {
      * 列表
      */
     @RequestMapping("/lists")
-    public R list( MeishixinxiEntity meishixinxi){
+    public void list( MeishixinxiEntity meishixinxi, HttpServletResponse response) throws IOException {
        	EntityWrapper<MeishixinxiEntity> ew = new EntityWrapper<MeishixinxiEntity>();
       	ew.allEq(MPUtil.allEQMapPre( meishixinxi, "meishixinxi")); 
-        return R.ok().put("data", meishixinxiService.selectListView(ew));
+        jsonStreamWriter.writeList(response, handler -> meishixinxiService.selectListView(ew, handler));
     }
 
 	 /**
@@ -105,9 +138,9 @@ public class MeishixinxiController {
     @RequestMapping("/info/{id}")
     public R info(@PathVariable("id") Long id){
         MeishixinxiEntity meishixinxi = meishixinxiService.selectById(id);
-		meishixinxi.setClicknum(meishixinxi.getClicknum()+1);
-		meishixinxi.setClicktime(new Date());
-		meishixinxiService.updateById(meishixinxi);
+		if(meishixinxi != null) {
+			meishixinxiService.recordClick(meishixinxi);
+		}
         return R.ok().put("data", meishixinxi);
     }
 
@@ -118,9 +151,10 @@ public class MeishixinxiController {
     @RequestMapping("/detail/{id}")
     public R detail(@PathVariable("id") Long id){
         MeishixinxiEntity meishixinxi = meishixinxiService.selectById(id);
-		meishixinxi.setClicknum(meishixinxi.getClicknum()+1);
-		meishixinxi.setClicktime(new Date());
-		meishixinxiService.updateById(meishixinxi);
+		if(meishixinxi != null) {
+			meishixinxiService.recordClick(meishixinxi);
+			meishixinxiTrendingService.recordView(id);
+		}
         return R.ok().put("data", meishixinxi);
     }
     
@@ -166,6 +200,9 @@ public class MeishixinxiController {
     @RequestMapping("/delete")
     public R delete(@RequestBody Long[] ids){
         meishixinxiService.deleteBatchIds(Arrays.asList(ids));
+        for(Long id : ids) {
+        	meishixinxiTrendingService.remove(id);
+        }
         return R.ok();
     }
     
@@ -207,9 +244,9 @@ public class MeishixinxiController {
 			wrapper.le(columnName, map.get("remindend"));
 		}
 
-		String tableName = request.getSession().getAttribute("tableName").toString();
+		String tableName = request.getAttribute("tableName").toString();
 		if(tableName.equals("meishidian")) {
-			wrapper.eq("dianpuzhanghao", (String)request.getSession().getAttribute("username"));
+			wrapper.eq("dianpuzhanghao", (String)request.getAttribute("username"));
 		}
 
 		int count = meishixinxiService.selectCount(wrapper);
@@ -238,11 +275,51 @@ public class MeishixinxiController {
 				newMap.put(pre + "." + newKey, entry.getValue());
 			}
 		}
+		if(RANK_PARAMS.containsAll(params.keySet())
+				&& (meishixinxi.getMeishifenlei() == null || (meishixinxi.getMeishifenlei().length() > 0 && !meishixinxi.getMeishifenlei().contains("%")))) {
+			PageUtils page = meishixinxiRankService.topPage(meishixinxi.getMeishifenlei(), pageParam(params, "page", 1), pageParam(params, "limit", 10));
+			if(page != null) {
+				return R.ok().put("data", page);
+			}
+		}
 		params.put("sort", "clicknum");
         params.put("order", "desc");
 		PageUtils page = meishixinxiService.queryPage(params, MPUtil.sort(MPUtil.between(MPUtil.likeOrEq(ew, meishixinxi), params), params));
         return R.ok().put("data", page);
     }
 
+	/**
+     * 前端热度趋势，按最近1h、24h或7d的浏览和下单排序
+     */
+	@IgnoreAuth
+    @RequestMapping("/trending")
+    public R trending(@RequestParam(defaultValue = "24h") String window, @RequestParam(defaultValue = "10") Integer limit){
+		if(!TRENDING_WINDOWS.contains(window)) {
+			return R.error("window只能为1h、24h或7d");
+		}
+		Map<Long, Long> scores = meishixinxiTrendingService.top(window, Math.max(1, Math.min(limit, 100)));
+		List<MeishixinxiEntity> list = new ArrayList<MeishixinxiEntity>();
+		List<Long> hot = new ArrayList<Long>();
+		if(!scores.isEmpty()) {
+			Map<Long, MeishixinxiEntity> byId = new HashMap<Long, MeishixinxiEntity>();
+			for(MeishixinxiEntity meishixinxi : meishixinxiService.selectBatchIds(scores.keySet())) {
+				byId.put(meishixinxi.getId(), meishixinxi);
+			}
+			for(Map.Entry<Long, Long> entry : scores.entrySet()) {
+				MeishixinxiEntity meishixinxi = byId.get(entry.getKey());
+				if(meishixinxi != null) {
+					meishixinxiService.mergePendingClicks(meishixinxi);
+					list.add(meishixinxi);
+					hot.add(entry.getValue());
+				}
+			}
+		}
+        return R.ok().put("data", list).put("scores", hot);
+    }
+
+	private static int pageParam(Map<String, Object> params, String key, int defaultValue) {
+		Object value = params.get(key);
+		return value == null ? defaultValue : Integer.parseInt(value.toString());
+	}
 
 }
@@ -0,0 +1,70 @@
+package com.controller;
+
+import java.util.Map;
+
+import javax.servlet.http.HttpServletRequest;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.service.CommonService;
+import com.service.TokenService;
+import com.service.impl.TokenReaper;
+import com.utils.PageQueryTemplate;
+import com.utils.R;
+
+/**
+ * 运行指标
+ */
+@RestController
+@RequestMapping("metrics")
+public class MetricsController {
+
+	@Autowired
+	private TokenService tokenService;
+
+	@Autowired
+	private TokenReaper tokenReaper;
+
+	@Autowired
+	private PageQueryTemplate pageQueryTemplate;
+
+	@Autowired
+	private CommonService commonService;
+
+	/**
+	 * token存储命中率、耗时及过期清理情况，仅管理员可用
+	 */
+	@RequestMapping("/token")
+	public R token(HttpServletRequest request) {
+		if(!"users".equals(request.getAttribute("tableName"))) {
+			return R.error("没有权限");
+		}
+		Map<String, Object> data = tokenService.stats();
+		data.put("purge", tokenReaper.stats());
+		return R.ok().put("data", data);
+	}
+
+	/**
+	 * 分页查询缓存命中率，仅管理员可用
+	 */
+	@RequestMapping("/query")
+	public R query(HttpServletRequest request) {
+		if(!"users".equals(request.getAttribute("tableName"))) {
+			return R.error("没有权限");
+		}
+		return R.ok().put("data", pageQueryTemplate.stats());
+	}
+
+	/**
+	 * 下拉选项缓存命中率，仅管理员可用
+	 */
+	@RequestMapping("/option")
+	public R option(HttpServletRequest request) {
+		if(!"users".equals(request.getAttribute("tableName"))) {
+			return R.error("没有权限");
+		}
+		return R.ok().put("data", commonService.optionStats());
+	}
+}
@@ -1,5 +1,6 @@
 package com.controller;
 
+import java.io.IOException;
 import java.text.SimpleDateFormat;
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -10,6 +11,7 @@ import java.util.Iterator;
 import java.util.Date;
 import java.util.List;
 import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
 
 import com.utils.ValidatorUtils;
 import org.apache.commons.lang3.StringUtils;
@@ -29,6 +31,7 @@ import com.entity.view.NewsView;
 
 import com.service.NewsService;
 import com.service.TokenService;
+import com.utils.JsonStreamWriter;
 import com.utils.PageUtils;
 import com.utils.R;
 import com.utils.MD5Util;
@@ -49,6 +52,9 @@ public class NewsController {
     @Autowired
     private NewsService newsService;
     
+    @Autowired
+    private JsonStreamWriter jsonStreamWriter;
+    
 
 
     /**
@@ -78,10 +84,10 @@ public class NewsController {
      * 列表
      */
     @RequestMapping("/lists")
-    public R list( NewsEntity news){
+    public void list( NewsEntity news, HttpServletResponse response) throws IOException {
        	EntityWrapper<NewsEntity> ew = new EntityWrapper<NewsEntity>();
       	ew.allEq(MPUtil.allEQMapPre( news, "news")); 
-        return R.ok().put("data", newsService.selectListView(ew));
+        jsonStreamWriter.writeList(response, handler -> newsService.selectListView(ew, handler));
     }
 
 	 /**
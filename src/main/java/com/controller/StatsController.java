@@ -0,0 +1,98 @@
+package com.controller;
+
+import java.text.ParseException;
+import java.text.SimpleDateFormat;
+import java.util.Arrays;
+import java.util.Calendar;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+
+import javax.servlet.http.HttpServletRequest;
+
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.service.MeishidingdanTongjiService;
+import com.utils.R;
+
+/**
+ * 统计图表
+ */
+@RestController
+@RequestMapping("stats")
+public class StatsController {
+
+	private static final List<String> GRANULARITIES = Arrays.asList(MeishidingdanTongjiService.HOUR, MeishidingdanTongjiService.DAY,
+			MeishidingdanTongjiService.MONTH);
+
+	@Autowired
+	private MeishidingdanTongjiService meishidingdanTongjiService;
+
+	/**
+	 * 订单时间序列
+	 * @param start 开始日期yyyy-MM-dd，默认按粒度取最近1天、30天或12个月
+	 * @param end 结束日期yyyy-MM-dd(包含)，默认今天
+	 * @param granularity hour、day或month
+	 * @param dianpuzhanghao 店铺账号，店铺登录时固定为自己的账号
+	 */
+	@RequestMapping("/orders/series")
+	public R ordersSeries(@RequestParam(required = false) String start, @RequestParam(required = false) String end,
+			@RequestParam(defaultValue = MeishidingdanTongjiService.DAY) String granularity,
+			@RequestParam(required = false) String dianpuzhanghao, HttpServletRequest request) {
+		if(!GRANULARITIES.contains(granularity)) {
+			return R.error("granularity只能是hour、day或month");
+		}
+		String tableName = request.getAttribute("tableName").toString();
+		if(tableName.equals("yonghu")) {
+			return R.error("没有权限");
+		}
+		if(tableName.equals("meishidian")) {
+			dianpuzhanghao = (String)request.getAttribute("username");
+		}
+		Calendar calendar = Calendar.getInstance();
+		try {
+			SimpleDateFormat sdf = new SimpleDateFormat("yyyy-MM-dd");
+			sdf.setLenient(false);
+			calendar.setTime(StringUtils.isNotBlank(end) ? sdf.parse(end) : sdf.parse(sdf.format(new Date())));
+			calendar.add(Calendar.DAY_OF_MONTH, 1);
+			Date endTime = calendar.getTime();
+			Date startTime;
+			if(StringUtils.isNotBlank(start)) {
+				startTime = sdf.parse(start);
+			} else {
+				if(MeishidingdanTongjiService.MONTH.equals(granularity)) {
+					calendar.add(Calendar.MONTH, -12);
+				} else {
+					calendar.add(Calendar.DAY_OF_MONTH, MeishidingdanTongjiService.HOUR.equals(granularity) ? -1 : -30);
+				}
+				startTime = calendar.getTime();
+			}
+			if(!startTime.before(endTime)) {
+				return R.error("开始日期不能晚于结束日期");
+			}
+			List<Map<String, Object>> series = meishidingdanTongjiService.series(StringUtils.defaultIfBlank(dianpuzhanghao, null), startTime, endTime, granularity);
+			if(series == null) {
+				return R.error("时间范围过大，请缩小范围或使用更大的时间粒度");
+			}
+			return R.ok().put("data", series);
+		} catch (ParseException e) {
+			return R.error("日期格式应为yyyy-MM-dd");
+		}
+	}
+
+	/**
+	 * 从订单表重新生成订单统计，仅管理员可用
+	 */
+	@RequestMapping("/orders/rebuild")
+	public R ordersRebuild(HttpServletRequest request) {
+		if(!"users".equals(request.getAttribute("tableName"))) {
+			return R.error("没有权限");
+		}
+		meishidingdanTongjiService.rebuild();
+		return R.ok();
+	}
+}
@@ -1,5 +1,6 @@
 package com.controller;
 
+import java.io.IOException;
 import java.text.SimpleDateFormat;
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -10,6 +11,7 @@ import java.util.Iterator;
 import java.util.Date;
 import java.util.List;
 import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
 
 import com.utils.ValidatorUtils;
 import org.apache.commons.lang3.StringUtils;
@@ -29,6 +31,7 @@ import com.entity.view.StoreupView;
 
 import com.service.StoreupService;
 import com.service.TokenService;
+import com.utils.JsonStreamWriter;
 import com.utils.PageUtils;
 import com.utils.R;
 import com.utils.MD5Util;
@@ -49,6 +52,9 @@ public class StoreupController {
     @Autowired
     private StoreupService storeupService;
     
+    @Autowired
+    private JsonStreamWriter jsonStreamWriter;
+    
 
 
     /**
@@ -57,8 +63,8 @@ public class StoreupController {
     @RequestMapping("/page")
     public R page(@RequestParam Map<String, Object> params,StoreupEntity storeup,
 		HttpServletRequest request){
-    	if(!request.getSession().getAttribute("role").toString().equals("管理员")) {
-    		storeup.setUserid((Long)request.getSession().getAttribute("userId"));
+    	if(!request.getAttribute("role").toString().equals("管理员")) {
+    		storeup.setUserid((Long)request.getAttribute("userId"));
     	}
         EntityWrapper<StoreupEntity> ew = new EntityWrapper<StoreupEntity>();
 		PageUtils page = storeupService.queryPage(params, MPUtil.sort(MPUtil.between(MPUtil.likeOrEq(ew, storeup), params), params));
@@ -71,8 +77,8 @@ public class StoreupController {
      */
     @RequestMapping("/list")
     public R list(@RequestParam Map<String, Object> params,StoreupEntity storeup, HttpServletRequest request){
-    	if(!request.getSession().getAttribute("role").toString().equals("管理员")) {
-    		storeup.setUserid((Long)request.getSession().getAttribute("userId"));
+    	if(!request.getAttribute("role").toString().equals("管理员")) {
+    		storeup.setUserid((Long)request.getAttribute("userId"));
     	}
         EntityWrapper<StoreupEntity> ew = new EntityWrapper<StoreupEntity>();
 		PageUtils page = storeupService.queryPage(params, MPUtil.sort(MPUtil.between(MPUtil.likeOrEq(ew, storeup), params), params));
@@ -83,10 +89,10 @@ public class StoreupController {
      * 列表
      */
     @RequestMapping("/lists")
-    public R list( StoreupEntity storeup){
+    public void list( StoreupEntity storeup, HttpServletResponse response) throws IOException {
        	EntityWrapper<StoreupEntity> ew = new EntityWrapper<StoreupEntity>();
       	ew.allEq(MPUtil.allEQMapPre( storeup, "storeup")); 
-        return R.ok().put("data", storeupService.selectListView(ew));
+        jsonStreamWriter.writeList(response, handler -> storeupService.selectListView(ew, handler));
     }
 
 	 /**
@@ -128,7 +134,7 @@ public class StoreupController {
     public R save(@RequestBody StoreupEntity storeup, HttpServletRequest request){
     	storeup.setId(new Date().getTime()+new Double(Math.floor(Math.random()*1000)).longValue());
     	//ValidatorUtils.validateEntity(storeup);
-    	storeup.setUserid((Long)request.getSession().getAttribute("userId"));
+    	storeup.setUserid((Long)request.getAttribute("userId"));
         storeupService.insert(storeup);
         return R.ok();
     }
@@ -140,7 +146,7 @@ public class StoreupController {
     public R add(@RequestBody StoreupEntity storeup, HttpServletRequest request){
     	storeup.setId(new Date().getTime()+new Double(Math.floor(Math.random()*1000)).longValue());
     	//ValidatorUtils.validateEntity(storeup);
-    	storeup.setUserid((Long)request.getSession().getAttribute("userId"));
+    	storeup.setUserid((Long)request.getAttribute("userId"));
         storeupService.insert(storeup);
         return R.ok();
     }
@@ -202,8 +208,8 @@ public class StoreupController {
 		if(map.get("remindend")!=null) {
 			wrapper.le(columnName, map.get("remindend"));
 		}
-		if(!request.getSession().getAttribute("role").toString().equals("管理员")) {
-    		wrapper.eq("userid", (Long)request.getSession().getAttribute("userId"));
+		if(!request.getAttribute("role").toString().equals("管理员")) {
+    		wrapper.eq("userid", (Long)request.getAttribute("userId"));
     	}
 
 
@@ -8,7 +8,9 @@ import java.util.Date;
 import java.util.Map;
 
 import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpSession;
 
+import org.apache.commons.lang3.StringUtils;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Controller;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -24,6 +26,7 @@ import com.annotation.IgnoreAuth;
 import com.baomidou.mybatisplus.mapper.EntityWrapper;
 import com.entity.TokenEntity;
 import com.entity.UserEntity;
+import com.interceptor.AuthorizationInterceptor;
 import com.service.TokenService;
 import com.service.UserService;
 import com.utils.CommonUtil;
@@ -78,7 +81,11 @@ public class UserController{
 	 */
 	@GetMapping(value = "logout")
 	public R logout(HttpServletRequest request) {
-		request.getSession().invalidate();
+		tokenService.revokeToken(request.getHeader(AuthorizationInterceptor.LOGIN_TOKEN_KEY));
+		HttpSession session = request.getSession(false);
+		if(session != null) {
+			session.invalidate();
+		}
 		return R.ok("退出成功");
 	}
 	
@@ -131,10 +138,33 @@ public class UserController{
      */
     @RequestMapping("/session")
     public R getCurrUser(HttpServletRequest request){
-    	Long id = (Long)request.getSession().getAttribute("userId");
-        UserEntity user = userService.selectById(id);
+    	Long id = (Long)request.getAttribute("userId");
+        UserEntity user = userService.selectSessionById(id);
         return R.ok().put("data", user);
     }
+    
+    /**
+     * 修改密码，/session不返回密码，原密码在服务端校验
+     */
+    @PostMapping("/updatePassword")
+    public R updatePassword(String password, String newpassword, HttpServletRequest request){
+    	if(!"users".equals(request.getAttribute("tableName"))) {
+    		return R.error("没有权限");
+    	}
+    	if(StringUtils.isBlank(newpassword)) {
+    		return R.error("新密码不能为空");
+    	}
+    	Long id = (Long)request.getAttribute("userId");
+    	UserEntity user = userService.selectById(id);
+    	if(user==null || password==null || !password.equals(user.getPassword())) {
+    		return R.error("原密码错误");
+    	}
+    	UserEntity update = new UserEntity();
+    	update.setId(id);
+    	update.setPassword(newpassword);
+        userService.updateById(update);
+        return R.ok();
+    }
 
     /**
      * 保存
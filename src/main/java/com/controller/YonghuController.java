@@ -1,5 +1,6 @@
 package com.controller;
 
+import java.io.IOException;
 import java.text.SimpleDateFormat;
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -10,6 +11,8 @@ import java.util.Iterator;
 import java.util.Date;
 import java.util.List;
 import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import javax.servlet.http.HttpSession;
 
 import com.utils.ValidatorUtils;
 import org.apache.commons.lang3.StringUtils;
@@ -24,11 +27,13 @@ import com.baomidou.mybatisplus.mapper.EntityWrapper;
 import com.baomidou.mybatisplus.mapper.Wrapper;
 import com.annotation.IgnoreAuth;
 
+import com.interceptor.AuthorizationInterceptor;
 import com.entity.YonghuEntity;
 import com.entity.view.YonghuView;
 
 import com.service.YonghuService;
 import com.service.TokenService;
+import com.utils.JsonStreamWriter;
 import com.utils.PageUtils;
 import com.utils.R;
 import com.utils.MD5Util;
@@ -49,6 +54,9 @@ public class YonghuController {
     @Autowired
     private YonghuService yonghuService;
     
+    @Autowired
+    private JsonStreamWriter jsonStreamWriter;
+    
 	@Autowired
 	private TokenService tokenService;
 	
@@ -89,7 +97,11 @@ public class YonghuController {
 	 */
 	@RequestMapping("/logout")
 	public R logout(HttpServletRequest request) {
-		request.getSession().invalidate();
+		tokenService.revokeToken(request.getHeader(AuthorizationInterceptor.LOGIN_TOKEN_KEY));
+		HttpSession session = request.getSession(false);
+		if(session != null) {
+			session.invalidate();
+		}
 		return R.ok("退出成功");
 	}
 	
@@ -98,11 +110,34 @@ public class YonghuController {
      */
     @RequestMapping("/session")
     public R getCurrUser(HttpServletRequest request){
-    	Long id = (Long)request.getSession().getAttribute("userId");
-        YonghuEntity user = yonghuService.selectById(id);
+    	Long id = (Long)request.getAttribute("userId");
+        YonghuEntity user = yonghuService.selectSessionById(id);
         return R.ok().put("data", user);
     }
     
+    /**
+     * 修改密码，/session不返回密码，原密码在服务端校验
+     */
+    @RequestMapping("/updatePassword")
+    public R updatePassword(String password, String newpassword, HttpServletRequest request){
+    	if(!"yonghu".equals(request.getAttribute("tableName"))) {
+    		return R.error("没有权限");
+    	}
+    	if(StringUtils.isBlank(newpassword)) {
+    		return R.error("新密码不能为空");
+    	}
+    	Long id = (Long)request.getAttribute("userId");
+    	YonghuEntity user = yonghuService.selectById(id);
+    	if(user==null || password==null || !password.equals(user.getMima())) {
+    		return R.error("原密码错误");
+    	}
+    	YonghuEntity update = new YonghuEntity();
+    	update.setId(id);
+    	update.setMima(newpassword);
+        yonghuService.updateById(update);
+        return R.ok();
+    }
+    
     /**
      * 密码重置
      */
@@ -145,10 +180,10 @@ public class YonghuController {
      * 列表
      */
     @RequestMapping("/lists")
-    public R list( YonghuEntity yonghu){
+    public void list( YonghuEntity yonghu, HttpServletResponse response) throws IOException {
        	EntityWrapper<YonghuEntity> ew = new EntityWrapper<YonghuEntity>();
       	ew.allEq(MPUtil.allEQMapPre( yonghu, "yonghu")); 
-        return R.ok().put("data", yonghuService.selectListView(ew));
+        jsonStreamWriter.writeList(response, handler -> yonghuService.selectListView(ew, handler));
     }
 
 	 /**
@@ -4,6 +4,9 @@ package com.dao;
 import java.util.List;
 import java.util.Map;
 
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.session.ResultHandler;
+
 /**
  * 通用接口
  */
@@ -23,4 +26,20 @@ public interface CommonDao{
 	List<Map<String, Object>> selectGroup(Map<String, Object> params);
 	
 	List<Map<String, Object>> selectValue(Map<String, Object> params);
+	
+	/**
+	 * 按x列分组求和，同时返回每组的行数(records)和y列非空行数(valued)，用于内存汇总的初始化
+	 */
+	List<Map<String, Object>> selectValueRollup(Map<String, Object> params);
+	
+	/**
+	 * 流式读取整张表的指定列，逐行交给handler处理
+	 * @param columns 逗号分隔的列名
+	 */
+	void streamColumns(@Param("table") String table, @Param("columns") String columns, ResultHandler<Map<String, Object>> handler);
+	
+	/**
+	 * 表统计信息中的估算行数
+	 */
+	Long selectTableRows(@Param("table") String table);
 }
@@ -7,6 +7,7 @@ import com.baomidou.mybatisplus.mapper.Wrapper;
 import com.baomidou.mybatisplus.plugins.pagination.Pagination;
 
 import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.session.ResultHandler;
 import com.entity.vo.MeishidianVO;
 import com.entity.view.MeishidianView;
 
@@ -27,6 +28,11 @@ public interface MeishidianDao extends BaseMapper<MeishidianEntity> {
 	List<MeishidianView> selectListView(@Param("ew") Wrapper<MeishidianEntity> wrapper);
 
 	List<MeishidianView> selectListView(Pagination page,@Param("ew") Wrapper<MeishidianEntity> wrapper);
+
+	/**
+	 * 流式查询，逐行交给handler处理
+	 */
+	void streamListView(@Param("ew") Wrapper<MeishidianEntity> wrapper, ResultHandler<? super MeishidianView> handler);
 	
 	MeishidianView selectView(@Param("ew") Wrapper<MeishidianEntity> wrapper);
 	
@@ -2,11 +2,14 @@ package com.dao;
 
 import com.entity.MeishidingdanEntity;
 import com.baomidou.mybatisplus.mapper.BaseMapper;
+import java.io.Serializable;
+import java.util.Collection;
 import java.util.List;
 import com.baomidou.mybatisplus.mapper.Wrapper;
 import com.baomidou.mybatisplus.plugins.pagination.Pagination;
 
 import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.session.ResultHandler;
 import com.entity.vo.MeishidingdanVO;
 import com.entity.view.MeishidingdanView;
 
@@ -27,7 +30,19 @@ public interface MeishidingdanDao extends BaseMapper<MeishidingdanEntity> {
 	List<MeishidingdanView> selectListView(@Param("ew") Wrapper<MeishidingdanEntity> wrapper);
 
 	List<MeishidingdanView> selectListView(Pagination page,@Param("ew") Wrapper<MeishidingdanEntity> wrapper);
+
+	/**
+	 * 流式查询，逐行交给handler处理
+	 */
+	void streamListView(@Param("ew") Wrapper<MeishidingdanEntity> wrapper, ResultHandler<? super MeishidingdanView> handler);
 	
 	MeishidingdanView selectView(@Param("ew") Wrapper<MeishidingdanEntity> wrapper);
+
+	/**
+	 * 加行锁读取，须在事务中调用，并发的修改会等待当前事务提交后再读取
+	 */
+	MeishidingdanEntity selectByIdForUpdate(@Param("id") Long id);
+
+	List<MeishidingdanEntity> selectBatchIdsForUpdate(@Param("ids") Collection<? extends Serializable> ids);
 	
 }
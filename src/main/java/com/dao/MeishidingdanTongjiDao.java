@@ -0,0 +1,27 @@
+package com.dao;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 美食订单按小时统计
+ */
+public interface MeishidingdanTongjiDao {
+
+	/**
+	 * 按(店铺账号,统计时段)累加增量，记录不存在时新增
+	 */
+	void addDelta(Map<String, Object> params);
+
+	/**
+	 * 按时间粒度汇总，返回的shijian为按format格式化后的时段
+	 */
+	List<Map<String, Object>> selectSeries(Map<String, Object> params);
+
+	void deleteAll();
+
+	/**
+	 * 从订单表重新生成全部统计
+	 */
+	void rebuild();
+}
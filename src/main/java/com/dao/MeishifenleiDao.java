@@ -7,6 +7,7 @@ import com.baomidou.mybatisplus.mapper.Wrapper;
 import com.baomidou.mybatisplus.plugins.pagination.Pagination;
 
 import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.session.ResultHandler;
 import com.entity.vo.MeishifenleiVO;
 import com.entity.view.MeishifenleiView;
 
@@ -27,6 +28,11 @@ public interface MeishifenleiDao extends BaseMapper<MeishifenleiEntity> {
 	List<MeishifenleiView> selectListView(@Param("ew") Wrapper<MeishifenleiEntity> wrapper);
 
 	List<MeishifenleiView> selectListView(Pagination page,@Param("ew") Wrapper<MeishifenleiEntity> wrapper);
+
+	/**
+	 * 流式查询，逐行交给handler处理
+	 */
+	void streamListView(@Param("ew") Wrapper<MeishifenleiEntity> wrapper, ResultHandler<? super MeishifenleiView> handler);
 	
 	MeishifenleiView selectView(@Param("ew") Wrapper<MeishifenleiEntity> wrapper);
 	
@@ -7,6 +7,7 @@ import com.baomidou.mybatisplus.mapper.Wrapper;
 import com.baomidou.mybatisplus.plugins.pagination.Pagination;
 
 import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.session.ResultHandler;
 import com.entity.vo.MeishipingjiaVO;
 import com.entity.view.MeishipingjiaView;
 
@@ -27,6 +28,11 @@ public interface MeishipingjiaDao extends BaseMapper<MeishipingjiaEntity> {
 	List<MeishipingjiaView> selectListView(@Param("ew") Wrapper<MeishipingjiaEntity> wrapper);
 
 	List<MeishipingjiaView> selectListView(Pagination page,@Param("ew") Wrapper<MeishipingjiaEntity> wrapper);
+
+	/**
+	 * 流式查询，逐行交给handler处理
+	 */
+	void streamListView(@Param("ew") Wrapper<MeishipingjiaEntity> wrapper, ResultHandler<? super MeishipingjiaView> handler);
 	
 	MeishipingjiaView selectView(@Param("ew") Wrapper<MeishipingjiaEntity> wrapper);
 	
@@ -2,11 +2,14 @@ package com.dao;
 
 import com.entity.MeishixinxiEntity;
 import com.baomidou.mybatisplus.mapper.BaseMapper;
+import java.io.Serializable;
+import java.util.Collection;
 import java.util.List;
 import com.baomidou.mybatisplus.mapper.Wrapper;
 import com.baomidou.mybatisplus.plugins.pagination.Pagination;
 
 import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.session.ResultHandler;
 import com.entity.vo.MeishixinxiVO;
 import com.entity.view.MeishixinxiView;
 
@@ -27,7 +30,24 @@ public interface MeishixinxiDao extends BaseMapper<MeishixinxiEntity> {
 	List<MeishixinxiView> selectListView(@Param("ew") Wrapper<MeishixinxiEntity> wrapper);
 
 	List<MeishixinxiView> selectListView(Pagination page,@Param("ew") Wrapper<MeishixinxiEntity> wrapper);
+
+	/**
+	 * 流式查询，逐行交给handler处理
+	 */
+	void streamListView(@Param("ew") Wrapper<MeishixinxiEntity> wrapper, ResultHandler<? super MeishixinxiView> handler);
 	
 	MeishixinxiView selectView(@Param("ew") Wrapper<MeishixinxiEntity> wrapper);
 	
+	/**
+	 * 批量累加点击次数，clicknum为增量
+	 */
+	int addClicknumBatch(@Param("list") List<MeishixinxiEntity> list);
+
+	/**
+	 * 加行锁读取，须在事务中调用，并发的修改会等待当前事务提交后再读取
+	 */
+	MeishixinxiEntity selectByIdForUpdate(@Param("id") Long id);
+
+	List<MeishixinxiEntity> selectBatchIdsForUpdate(@Param("ids") Collection<? extends Serializable> ids);
+	
 }
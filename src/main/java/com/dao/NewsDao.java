@@ -7,6 +7,7 @@ import com.baomidou.mybatisplus.mapper.Wrapper;
 import com.baomidou.mybatisplus.plugins.pagination.Pagination;
 
 import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.session.ResultHandler;
 import com.entity.vo.NewsVO;
 import com.entity.view.NewsView;
 
@@ -27,6 +28,11 @@ public interface NewsDao extends BaseMapper<NewsEntity> {
 	List<NewsView> selectListView(@Param("ew") Wrapper<NewsEntity> wrapper);
 
 	List<NewsView> selectListView(Pagination page,@Param("ew") Wrapper<NewsEntity> wrapper);
+
+	/**
+	 * 流式查询，逐行交给handler处理
+	 */
+	void streamListView(@Param("ew") Wrapper<NewsEntity> wrapper, ResultHandler<? super NewsView> handler);
 	
 	NewsView selectView(@Param("ew") Wrapper<NewsEntity> wrapper);
 	
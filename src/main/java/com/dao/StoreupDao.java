@@ -7,6 +7,7 @@ import com.baomidou.mybatisplus.mapper.Wrapper;
 import com.baomidou.mybatisplus.plugins.pagination.Pagination;
 
 import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.session.ResultHandler;
 import com.entity.vo.StoreupVO;
 import com.entity.view.StoreupView;
 
@@ -27,6 +28,11 @@ public interface StoreupDao extends BaseMapper<StoreupEntity> {
 	List<StoreupView> selectListView(@Param("ew") Wrapper<StoreupEntity> wrapper);
 
 	List<StoreupView> selectListView(Pagination page,@Param("ew") Wrapper<StoreupEntity> wrapper);
+
+	/**
+	 * 流式查询，逐行交给handler处理
+	 */
+	void streamListView(@Param("ew") Wrapper<StoreupEntity> wrapper, ResultHandler<? super StoreupView> handler);
 	
 	StoreupView selectView(@Param("ew") Wrapper<StoreupEntity> wrapper);
 	
@@ -19,4 +19,10 @@ public interface TokenDao extends BaseMapper<TokenEntity> {
 
 	List<TokenEntity> selectListView(Pagination page,@Param("ew") Wrapper<TokenEntity> wrapper);
 	
+	int upsertToken(TokenEntity tokenEntity);
+	
+	int deleteExpired(@Param("limit") int limit);
+	
+	int renewBatch(@Param("list") List<TokenEntity> tokenEntities);
+	
 }
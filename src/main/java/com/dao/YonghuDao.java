@@ -7,6 +7,7 @@ import com.baomidou.mybatisplus.mapper.Wrapper;
 import com.baomidou.mybatisplus.plugins.pagination.Pagination;
 
 import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.session.ResultHandler;
 import com.entity.vo.YonghuVO;
 import com.entity.view.YonghuView;
 
@@ -27,6 +28,11 @@ public interface YonghuDao extends BaseMapper<YonghuEntity> {
 	List<YonghuView> selectListView(@Param("ew") Wrapper<YonghuEntity> wrapper);
 
 	List<YonghuView> selectListView(Pagination page,@Param("ew") Wrapper<YonghuEntity> wrapper);
+
+	/**
+	 * 流式查询，逐行交给handler处理
+	 */
+	void streamListView(@Param("ew") Wrapper<YonghuEntity> wrapper, ResultHandler<? super YonghuView> handler);
 	
 	YonghuView selectView(@Param("ew") Wrapper<YonghuEntity> wrapper);
 	
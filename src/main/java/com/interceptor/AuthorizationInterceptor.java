@@ -1,7 +1,9 @@
 package com.interceptor;
 
-import java.io.IOException;
-import java.io.PrintWriter;
+import java.io.OutputStream;
+import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
 import com.alibaba.fastjson.JSONObject;
@@ -10,11 +12,12 @@ import javax.servlet.http.HttpServletResponse;
 
 import org.apache.commons.lang3.StringUtils;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Component;
 import org.springframework.web.method.HandlerMethod;
 import org.springframework.web.servlet.HandlerInterceptor;
-import org.springframework.web.bind.annotation.RequestMethod;
-import org.springframework.http.HttpStatus;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerMapping;
 
 import com.annotation.IgnoreAuth;
 import com.entity.EIException;
@@ -24,72 +27,88 @@ import com.utils.R;
 
 /**
  * 权限(Token)验证
+ * 跨域响应头及OPTIONS预检请求由CorsPreflightFilter处理
  */
 @Component
 public class AuthorizationInterceptor implements HandlerInterceptor {
 
     public static final String LOGIN_TOKEN_KEY = "Token";
 
+    /**
+     * 当前登录用户(TokenEntity)在request中的属性名
+     */
+    public static final String LOGIN_USER_KEY = "loginUser";
+
+    /**
+     * 未登录时的响应内容，启动时序列化一次
+     */
+    private static final byte[] UNAUTHORIZED_BODY = JSONObject.toJSONString(R.error(401, "请先登录")).getBytes(StandardCharsets.UTF_8);
+
     @Autowired
     private TokenService tokenService;
-    
+
+    /**
+     * 处理方法 -> 是否忽略Token验证，启动完成后一次性生成
+     */
+    private volatile Map<Method, Boolean> ignoreAuthMethods = Collections.emptyMap();
+
+    @EventListener
+    public void onContextRefreshed(ContextRefreshedEvent event) {
+    	Map<Method, Boolean> methods = new HashMap<Method, Boolean>();
+    	for(RequestMappingHandlerMapping mapping : event.getApplicationContext().getBeansOfType(RequestMappingHandlerMapping.class).values()) {
+    		for(HandlerMethod handlerMethod : mapping.getHandlerMethods().values()) {
+    			methods.put(handlerMethod.getMethod(), handlerMethod.hasMethodAnnotation(IgnoreAuth.class));
+    		}
+    	}
+    	ignoreAuthMethods = Collections.unmodifiableMap(methods);
+    }
+
 	@Override
     public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) throws Exception {
-
-		//支持跨域请求
-        response.setHeader("Access-Control-Allow-Methods", "POST, GET, OPTIONS, DELETE");
-        response.setHeader("Access-Control-Max-Age", "3600");
-        response.setHeader("Access-Control-Allow-Credentials", "true");
-        response.setHeader("Access-Control-Allow-Headers", "x-requested-with,request-source,Token, Origin,imgType, Content-Type, cache-control,postman-token,Cookie, Accept,authorization");
-        response.setHeader("Access-Control-Allow-Origin", request.getHeader("Origin"));
-	// 跨域时会首先发送一个OPTIONS请求，这里我们给OPTIONS请求直接返回正常状态
-	if (request.getMethod().equals(RequestMethod.OPTIONS.name())) {
-        	response.setStatus(HttpStatus.OK.value());
-            return false;
-        }
-        
-        IgnoreAuth annotation;
-        if (handler instanceof HandlerMethod) {
-            annotation = ((HandlerMethod) handler).getMethodAnnotation(IgnoreAuth.class);
-        } else {
+        if (!(handler instanceof HandlerMethod)) {
             return true;
         }
 
-        //从header中获取token
-        String token = request.getHeader(LOGIN_TOKEN_KEY);
-        
         /**
          * 不需要验证权限的方法直接放过
          */
-        if(annotation!=null) {
+        if(isIgnoreAuth((HandlerMethod) handler)) {
         	return true;
         }
-        
+
+        //从header中获取token
+        String token = request.getHeader(LOGIN_TOKEN_KEY);
+
         TokenEntity tokenEntity = null;
         if(StringUtils.isNotBlank(token)) {
         	tokenEntity = tokenService.getTokenEntity(token);
         }
-        
+
         if(tokenEntity != null) {
-        	request.getSession().setAttribute("userId", tokenEntity.getUserid());
-        	request.getSession().setAttribute("role", tokenEntity.getRole());
-        	request.getSession().setAttribute("tableName", tokenEntity.getTablename());
-        	request.getSession().setAttribute("username", tokenEntity.getUsername());
+        	//登录信息只放在request中，不创建HttpSession
+        	request.setAttribute(LOGIN_USER_KEY, tokenEntity);
+        	request.setAttribute("userId", tokenEntity.getUserid());
+        	request.setAttribute("role", tokenEntity.getRole());
+        	request.setAttribute("tableName", tokenEntity.getTablename());
+        	request.setAttribute("username", tokenEntity.getUsername());
         	return true;
         }
-        
-		PrintWriter writer = null;
-		response.setCharacterEncoding("UTF-8");
+
 		response.setContentType("application/json; charset=utf-8");
-		try {
-		    writer = response.getWriter();
-		    writer.print(JSONObject.toJSONString(R.error(401, "请先登录")));
-		} finally {
-		    if(writer != null){
-		        writer.close();
-		    }
-		}
+		response.setContentLength(UNAUTHORIZED_BODY.length);
+		OutputStream out = response.getOutputStream();
+		out.write(UNAUTHORIZED_BODY);
+		out.flush();
 //				throw new EIException("请先登录", 401);
 		return false;
     }
+
+	private boolean isIgnoreAuth(HandlerMethod handlerMethod) {
+		Boolean ignore = ignoreAuthMethods.get(handlerMethod.getMethod());
+		if(ignore == null) {
+			//启动完成前或动态注册的映射
+			ignore = handlerMethod.hasMethodAnnotation(IgnoreAuth.class);
+		}
+		return ignore;
+	}
 }
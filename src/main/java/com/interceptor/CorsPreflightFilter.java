@@ -0,0 +1,35 @@
+package com.interceptor;
+
+import java.io.IOException;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+/**
+ * 跨域支持
+ * 在进入DispatcherServlet之前设置跨域响应头，OPTIONS预检请求直接返回，不再经过Spring MVC的处理器映射
+ */
+public class CorsPreflightFilter extends OncePerRequestFilter {
+
+	@Override
+	protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+			throws ServletException, IOException {
+		response.setHeader("Access-Control-Allow-Methods", "POST, GET, OPTIONS, DELETE");
+		response.setHeader("Access-Control-Max-Age", "3600");
+		response.setHeader("Access-Control-Allow-Credentials", "true");
+		response.setHeader("Access-Control-Allow-Headers", "x-requested-with,request-source,Token, Origin,imgType, Content-Type, cache-control,postman-token,Cookie, Accept,authorization");
+		response.setHeader("Access-Control-Allow-Origin", request.getHeader("Origin"));
+		// 跨域时会首先发送一个OPTIONS请求，这里我们给OPTIONS请求直接返回正常状态
+		if (RequestMethod.OPTIONS.name().equals(request.getMethod())) {
+			response.setStatus(HttpStatus.OK.value());
+			return;
+		}
+		filterChain.doFilter(request, response);
+	}
+}
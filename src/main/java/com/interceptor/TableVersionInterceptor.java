@@ -0,0 +1,94 @@
+package com.interceptor;
+
+import java.util.LinkedHashSet;
+import java.util.Properties;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.apache.ibatis.executor.Executor;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.plugin.Interceptor;
+import org.apache.ibatis.plugin.Intercepts;
+import org.apache.ibatis.plugin.Invocation;
+import org.apache.ibatis.plugin.Plugin;
+import org.apache.ibatis.plugin.Signature;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.utils.TableVersions;
+
+/**
+ * 写操作完成后更新对应表的版本号
+ * 在事务中时等提交后再更新：提前更新的话，其他请求会用新版本号缓存提交前的旧数据，之后不会再失效
+ */
+@Intercepts({ @Signature(type = Executor.class, method = "update", args = { MappedStatement.class, Object.class }) })
+public class TableVersionInterceptor implements Interceptor {
+
+	private static final Pattern TABLE = Pattern.compile("^\\s*(?:insert\\s+(?:ignore\\s+)?into|replace\\s+into|update|delete\\s+from)\\s+`?(\\w+)`?",
+			Pattern.CASE_INSENSITIVE);
+
+	private final TableVersions tableVersions;
+
+	public TableVersionInterceptor(TableVersions tableVersions) {
+		this.tableVersions = tableVersions;
+	}
+
+	@Override
+	public Object intercept(Invocation invocation) throws Throwable {
+		Object result = invocation.proceed();
+		MappedStatement ms = (MappedStatement) invocation.getArgs()[0];
+		Matcher matcher = TABLE.matcher(ms.getBoundSql(invocation.getArgs()[1]).getSql());
+		if(matcher.find()) {
+			bump(matcher.group(1));
+		}
+		return result;
+	}
+
+	private void bump(String table) {
+		if(!TransactionSynchronizationManager.isSynchronizationActive()) {
+			tableVersions.bump(table);
+			return;
+		}
+		//同一事务中修改过的表只登记一次，提交后统一更新；挂起的外层事务有自己的登记
+		for(TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+			if(synchronization instanceof PendingBumps && ((PendingBumps) synchronization).owner == this) {
+				((PendingBumps) synchronization).tables.add(table);
+				return;
+			}
+		}
+		PendingBumps pending = new PendingBumps(this);
+		pending.tables.add(table);
+		TransactionSynchronizationManager.registerSynchronization(pending);
+	}
+
+	/**
+	 * 当前事务修改过的表，回滚时丢弃
+	 */
+	private static class PendingBumps extends TransactionSynchronizationAdapter {
+		final TableVersionInterceptor owner;
+		final Set<String> tables = new LinkedHashSet<String>();
+
+		PendingBumps(TableVersionInterceptor owner) {
+			this.owner = owner;
+		}
+
+		@Override
+		public void afterCommit() {
+			for(String table : tables) {
+				owner.tableVersions.bump(table);
+			}
+		}
+	}
+
+	@Override
+	public Object plugin(Object target) {
+		return target instanceof Executor ? Plugin.wrap(target, this) : target;
+	}
+
+	@Override
+	public void setProperties(Properties properties) {
+	}
+}
@@ -0,0 +1,62 @@
+package com.service;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 统计图表的内存汇总
+ * 配置中登记的(表,列)分组计数、(表,x列,y列)分组求和以及(表,列)的求和/最大/最小/平均值首次访问时从数据库计算一次，
+ * 之后由实体服务的新增、修改、删除增量更新
+ */
+public interface AggregateService {
+
+	/**
+	 * 表上是否登记了汇总，没有登记时实体服务不需要调用增量更新
+	 */
+	boolean maintains(String table);
+
+	/**
+	 * 按列分组计数，结果与CommonDao.selectGroup一致，未登记时返回null，由调用方查询数据库
+	 */
+	List<Map<String, Object>> group(String table, String column);
+
+	/**
+	 * 按x列分组对y列求和，结果与CommonDao.selectValue一致，未登记时返回null，由调用方查询数据库
+	 */
+	List<Map<String, Object>> value(String table, String xColumn, String yColumn);
+
+	/**
+	 * 单列是否登记了统计
+	 */
+	boolean isCalMaintained(String table, String column);
+
+	/**
+	 * 单列的sum、max、min、avg，结果与CommonDao.selectCal一致，未登记时返回null，由调用方查询数据库
+	 * 登记的列没有非空值时同样返回null，先用isCalMaintained区分
+	 */
+	Map<String, Object> cal(String table, String column);
+
+	/**
+	 * 一次计算同一张表的多个统计，已登记的从内存读取，其余在一次流式扫描中同时计算
+	 * @param values 每项为{x列, y列}
+	 * @return group、value、cal三个结果列表，顺序与参数一致
+	 */
+	Map<String, Object> batch(String table, List<String> groups, List<String[]> values, List<String> cals);
+
+	/**
+	 * 新增一条记录后调用，row为新增后从数据库读取的记录
+	 */
+	void inserted(String table, Object row);
+
+	/**
+	 * 修改一条记录后调用，before和after分别为修改前后从数据库读取的记录
+	 */
+	void updated(String table, Object before, Object after);
+
+	/**
+	 * 一次删除多条记录后调用，rows为删除前从数据库读取的记录
+	 */
+	void deleted(String table, Collection<?> rows);
+
+}
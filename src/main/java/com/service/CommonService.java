@@ -4,8 +4,16 @@ import java.util.List;
 import java.util.Map;
 
 public interface CommonService {
+	/**
+	 * 下拉选项，按表版本号缓存，返回的列表不可修改
+	 */
 	List<String> getOption(Map<String, Object> params);
 	
+	/**
+	 * 下拉选项缓存命中率
+	 */
+	Map<String, Object> optionStats();
+	
 	Map<String, Object> getFollowByOption(Map<String, Object> params);
 	
 	void sh(Map<String, Object> params);
@@ -17,4 +25,10 @@ public interface CommonService {
 	List<Map<String, Object>> selectGroup(Map<String, Object> params);
 	
 	List<Map<String, Object>> selectValue(Map<String, Object> params);
+	
+	/**
+	 * 同一张表的多个分组、按值和单列统计一次计算
+	 * @param values 每项为{x列, y列}
+	 */
+	Map<String, Object> selectBatch(String table, List<String> groups, List<String[]> values, List<String> cals);
 }
@@ -13,4 +13,24 @@ import com.utils.PageUtils;
  */
 public interface ConfigService extends IService<ConfigEntity> {
 	PageUtils queryPage(Map<String, Object> params);
+	
+	/**
+	 * 按name读取配置(内存快照)
+	 */
+	ConfigEntity selectByName(String name);
+	
+	/**
+	 * 按name读取配置值，不存在时返回null
+	 */
+	String getValue(String name);
+	
+	/**
+	 * 当前快照版本，配置内容变化时改变
+	 */
+	String getVersion();
+	
+	/**
+	 * 重新加载快照，配置修改后调用
+	 */
+	void reload();
 }
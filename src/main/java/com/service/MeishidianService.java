@@ -8,6 +8,7 @@ import java.util.List;
 import java.util.Map;
 import com.entity.vo.MeishidianVO;
 import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.session.ResultHandler;
 import com.entity.view.MeishidianView;
 
 
@@ -28,9 +29,19 @@ public interface MeishidianService extends IService<MeishidianEntity> {
    	
    	List<MeishidianView> selectListView(Wrapper<MeishidianEntity> wrapper);
    	
+   	/**
+   	 * 流式查询，结果不整体放入内存
+   	 */
+   	void selectListView(Wrapper<MeishidianEntity> wrapper, ResultHandler<? super MeishidianView> handler);
+   	
    	MeishidianView selectView(@Param("ew") Wrapper<MeishidianEntity> wrapper);
    	
    	PageUtils queryPage(Map<String, Object> params,Wrapper<MeishidianEntity> wrapper);
    	
+   	/**
+   	 * 按id查询当前登录账号，带缓存，账号表有写操作后自动失效
+   	 */
+   	MeishidianEntity selectSessionById(Long id);
+   	
 }
 
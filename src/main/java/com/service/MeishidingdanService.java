@@ -8,6 +8,7 @@ import java.util.List;
 import java.util.Map;
 import com.entity.vo.MeishidingdanVO;
 import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.session.ResultHandler;
 import com.entity.view.MeishidingdanView;
 
 
@@ -28,6 +29,11 @@ public interface MeishidingdanService extends IService<MeishidingdanEntity> {
    	
    	List<MeishidingdanView> selectListView(Wrapper<MeishidingdanEntity> wrapper);
    	
+   	/**
+   	 * 流式查询，结果不整体放入内存
+   	 */
+   	void selectListView(Wrapper<MeishidingdanEntity> wrapper, ResultHandler<? super MeishidingdanView> handler);
+   	
    	MeishidingdanView selectView(@Param("ew") Wrapper<MeishidingdanEntity> wrapper);
    	
    	PageUtils queryPage(Map<String, Object> params,Wrapper<MeishidingdanEntity> wrapper);
@@ -0,0 +1,38 @@
+package com.service;
+
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+
+import com.entity.MeishidingdanEntity;
+
+/**
+ * 美食订单按小时统计
+ * 按店铺账号和下单时间(小时)汇总下单数、购买数量、下单金额及支付数、支付金额，图表按时段读取汇总表而不扫描订单
+ */
+public interface MeishidingdanTongjiService {
+
+	String HOUR = "hour";
+
+	String DAY = "day";
+
+	String MONTH = "month";
+
+	/**
+	 * 订单新增、修改(含支付状态变化)或删除后调用，before为修改前的订单(新增时为null)，after为修改后的订单(删除时为null)
+	 */
+	void update(MeishidingdanEntity before, MeishidingdanEntity after);
+
+	/**
+	 * 按时间粒度返回[start, end)内每个时段的统计，没有订单的时段补0，时段数超过上限时返回null
+	 * @param dianpuzhanghao 店铺账号，为null表示全部店铺
+	 * @param granularity hour、day或month
+	 */
+	List<Map<String, Object>> series(String dianpuzhanghao, Date start, Date end, String granularity);
+
+	/**
+	 * 从订单表重新生成全部统计
+	 */
+	void rebuild();
+
+}
@@ -8,6 +8,7 @@ import java.util.List;
 import java.util.Map;
 import com.entity.vo.MeishifenleiVO;
 import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.session.ResultHandler;
 import com.entity.view.MeishifenleiView;
 
 
@@ -28,6 +29,11 @@ public interface MeishifenleiService extends IService<MeishifenleiEntity> {
    	
    	List<MeishifenleiView> selectListView(Wrapper<MeishifenleiEntity> wrapper);
    	
+   	/**
+   	 * 流式查询，结果不整体放入内存
+   	 */
+   	void selectListView(Wrapper<MeishifenleiEntity> wrapper, ResultHandler<? super MeishifenleiView> handler);
+   	
    	MeishifenleiView selectView(@Param("ew") Wrapper<MeishifenleiEntity> wrapper);
    	
    	PageUtils queryPage(Map<String, Object> params,Wrapper<MeishifenleiEntity> wrapper);
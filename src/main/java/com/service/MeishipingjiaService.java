@@ -8,6 +8,7 @@ import java.util.List;
 import java.util.Map;
 import com.entity.vo.MeishipingjiaVO;
 import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.session.ResultHandler;
 import com.entity.view.MeishipingjiaView;
 
 
@@ -28,6 +29,11 @@ public interface MeishipingjiaService extends IService<MeishipingjiaEntity> {
    	
    	List<MeishipingjiaView> selectListView(Wrapper<MeishipingjiaEntity> wrapper);
    	
+   	/**
+   	 * 流式查询，结果不整体放入内存
+   	 */
+   	void selectListView(Wrapper<MeishipingjiaEntity> wrapper, ResultHandler<? super MeishipingjiaView> handler);
+   	
    	MeishipingjiaView selectView(@Param("ew") Wrapper<MeishipingjiaEntity> wrapper);
    	
    	PageUtils queryPage(Map<String, Object> params,Wrapper<MeishipingjiaEntity> wrapper);
@@ -0,0 +1,28 @@
+package com.service;
+
+import com.entity.MeishixinxiEntity;
+import com.utils.PageUtils;
+
+/**
+ * 美食点击排行
+ * 按美食分类在内存中维护点击次数前K名，供前端智能排序使用
+ */
+public interface MeishixinxiRankService {
+
+	/**
+	 * 按点击次数倒序分页，超出前K名范围时返回null，由调用方查询数据库
+	 * @param meishifenlei 美食分类，为空表示全部
+	 */
+	PageUtils topPage(String meishifenlei, int page, int limit);
+
+	/**
+	 * 点击次数变化后调整排名，meishixinxi中的clicknum为最新值
+	 */
+	void update(MeishixinxiEntity meishixinxi);
+
+	/**
+	 * 美食信息新增、修改或删除后清空排行，下次访问时重新加载
+	 */
+	void invalidate();
+
+}
@@ -8,6 +8,7 @@ import java.util.List;
 import java.util.Map;
 import com.entity.vo.MeishixinxiVO;
 import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.session.ResultHandler;
 import com.entity.view.MeishixinxiView;
 
 
@@ -28,9 +29,29 @@ public interface MeishixinxiService extends IService<MeishixinxiEntity> {
    	
    	List<MeishixinxiView> selectListView(Wrapper<MeishixinxiEntity> wrapper);
    	
+   	/**
+   	 * 流式查询，结果不整体放入内存
+   	 */
+   	void selectListView(Wrapper<MeishixinxiEntity> wrapper, ResultHandler<? super MeishixinxiView> handler);
+   	
    	MeishixinxiView selectView(@Param("ew") Wrapper<MeishixinxiEntity> wrapper);
    	
    	PageUtils queryPage(Map<String, Object> params,Wrapper<MeishixinxiEntity> wrapper);
    	
+   	/**
+   	 * 记录一次浏览，点击次数先累计在内存中，定时批量写回
+   	 */
+   	void recordClick(MeishixinxiEntity meishixinxi);
+   	
+   	/**
+   	 * 将尚未写回的点击次数合并到实体
+   	 */
+   	void mergePendingClicks(MeishixinxiEntity meishixinxi);
+   	
+   	/**
+   	 * 写回内存中累计的点击次数
+   	 */
+   	void flushClicks();
+   	
 }
 
@@ -0,0 +1,35 @@
+package com.service;
+
+import java.util.Map;
+
+import com.entity.MeishidingdanEntity;
+
+/**
+ * 美食热度趋势
+ * 按美食维护最近1小时、24小时、7天的浏览和下单滑动窗口计数
+ */
+public interface MeishixinxiTrendingService {
+
+	/**
+	 * 记录一次前端详情浏览
+	 */
+	void recordView(Long id);
+
+	/**
+	 * 记录一次下单，按店铺账号和美食名称对应到美食信息
+	 */
+	void recordOrder(MeishidingdanEntity meishidingdan);
+
+	/**
+	 * 窗口内热度最高的美食
+	 * @param window 1h、24h或7d
+	 * @return 美食id -> 热度，按热度倒序
+	 */
+	Map<Long, Long> top(String window, int limit);
+
+	/**
+	 * 美食删除后移除计数
+	 */
+	void remove(Long id);
+
+}
@@ -8,6 +8,7 @@ import java.util.List;
 import java.util.Map;
 import com.entity.vo.NewsVO;
 import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.session.ResultHandler;
 import com.entity.view.NewsView;
 
 
@@ -28,6 +29,11 @@ public interface NewsService extends IService<NewsEntity> {
    	
    	List<NewsView> selectListView(Wrapper<NewsEntity> wrapper);
    	
+   	/**
+   	 * 流式查询，结果不整体放入内存
+   	 */
+   	void selectListView(Wrapper<NewsEntity> wrapper, ResultHandler<? super NewsView> handler);
+   	
    	NewsView selectView(@Param("ew") Wrapper<NewsEntity> wrapper);
    	
    	PageUtils queryPage(Map<String, Object> params,Wrapper<NewsEntity> wrapper);
@@ -8,6 +8,7 @@ import java.util.List;
 import java.util.Map;
 import com.entity.vo.StoreupVO;
 import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.session.ResultHandler;
 import com.entity.view.StoreupView;
 
 
@@ -28,6 +29,11 @@ public interface StoreupService extends IService<StoreupEntity> {
    	
    	List<StoreupView> selectListView(Wrapper<StoreupEntity> wrapper);
    	
+   	/**
+   	 * 流式查询，结果不整体放入内存
+   	 */
+   	void selectListView(Wrapper<StoreupEntity> wrapper, ResultHandler<? super StoreupView> handler);
+   	
    	StoreupView selectView(@Param("ew") Wrapper<StoreupEntity> wrapper);
    	
    	PageUtils queryPage(Map<String, Object> params,Wrapper<StoreupEntity> wrapper);
@@ -23,4 +23,16 @@ public interface TokenService extends IService<TokenEntity> {
    	String generateToken(Long userid,String username,String tableName, String role);
    	
    	TokenEntity getTokenEntity(String token);
+   	
+   	void revokeToken(String token);
+   	
+   	/**
+   	 * 将滑动过期产生的续期批量写回存储
+   	 */
+   	void flushRenewals();
+   	
+   	/**
+   	 * token存储及缓存统计
+   	 */
+   	Map<String, Object> stats();
 }
@@ -0,0 +1,38 @@
+package com.service;
+
+import java.util.List;
+import java.util.Map;
+
+import com.entity.TokenEntity;
+
+/**
+ * token存储
+ * 由token.store配置选择实现: jdbc(token表)、memory(单节点内存)、file(内存映射文件)
+ */
+public interface TokenStore {
+
+	TokenEntity findByToken(String token);
+
+	/**
+	 * 保存token，同一userid和role只保留一条(存在则覆盖)
+	 */
+	void save(TokenEntity tokenEntity);
+
+	void remove(String token);
+
+	/**
+	 * 批量更新过期时间，只使用token和expiratedtime
+	 */
+	void renew(List<TokenEntity> tokenEntities);
+
+	/**
+	 * 删除已过期的token，单次最多删除batchSize条
+	 * @return 删除条数
+	 */
+	int purgeExpired(int batchSize);
+
+	/**
+	 * 命中/未命中/耗时统计
+	 */
+	Map<String, Object> stats();
+}
@@ -22,4 +22,9 @@ public interface UserService extends IService<UserEntity> {
    	
    	PageUtils queryPage(Map<String, Object> params,Wrapper<UserEntity> wrapper);
 	   	
+   	/**
+   	 * 按id查询当前登录账号，带缓存，账号表有写操作后自动失效
+   	 */
+   	UserEntity selectSessionById(Long id);
+   	
 }
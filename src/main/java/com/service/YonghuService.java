@@ -8,6 +8,7 @@ import java.util.List;
 import java.util.Map;
 import com.entity.vo.YonghuVO;
 import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.session.ResultHandler;
 import com.entity.view.YonghuView;
 
 
@@ -28,9 +29,19 @@ public interface YonghuService extends IService<YonghuEntity> {
    	
    	List<YonghuView> selectListView(Wrapper<YonghuEntity> wrapper);
    	
+   	/**
+   	 * 流式查询，结果不整体放入内存
+   	 */
+   	void selectListView(Wrapper<YonghuEntity> wrapper, ResultHandler<? super YonghuView> handler);
+   	
    	YonghuView selectView(@Param("ew") Wrapper<YonghuEntity> wrapper);
    	
    	PageUtils queryPage(Map<String, Object> params,Wrapper<YonghuEntity> wrapper);
    	
+   	/**
+   	 * 按id查询当前登录账号，带缓存，账号表有写操作后自动失效
+   	 */
+   	YonghuEntity selectSessionById(Long id);
+   	
 }
 
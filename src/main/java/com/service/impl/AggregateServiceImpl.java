@@ -0,0 +1,640 @@
+package com.service.impl;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import javax.annotation.PostConstruct;
+
+import org.apache.commons.lang3.StringUtils;
+import org.apache.ibatis.session.ResultContext;
+import org.apache.ibatis.session.ResultHandler;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.dao.CommonDao;
+import com.service.AggregateService;
+import com.utils.MPUtil;
+import com.utils.TableVersions;
+
+/**
+ * 统计图表的内存汇总
+ * 分组计数、分组求和以及单列的求和/最大/最小/平均值在内存中维护，
+ * 每个汇总记录加载时的表版本号和之后增量更新的次数，两者之和与当前表版本号不一致时
+ * 说明有未经过实体服务的写操作(如审核、点击次数写回)，下次访问时重新从数据库计算
+ */
+@Service("aggregateService")
+public class AggregateServiceImpl implements AggregateService {
+
+	private static final Pattern NAME = Pattern.compile("[A-Za-z0-9_]+");
+
+	/**
+	 * 字符串求和时按MySQL的规则取开头的数字部分
+	 */
+	private static final Pattern NUMBER_PREFIX = Pattern.compile("^\\s*[+-]?(\\d+(\\.\\d*)?|\\.\\d+)([eE][+-]?\\d+)?");
+
+	/**
+	 * null排在最前，其余按自然顺序，与MySQL分组结果的顺序一致
+	 */
+	private static final Comparator<Object> KEY_ORDER = new Comparator<Object>() {
+		@SuppressWarnings({ "unchecked", "rawtypes" })
+		@Override
+		public int compare(Object a, Object b) {
+			if(a == null || b == null) {
+				return a == null ? (b == null ? 0 : -1) : 1;
+			}
+			if(a instanceof Comparable && a.getClass() == b.getClass()) {
+				return ((Comparable) a).compareTo(b);
+			}
+			return a.toString().compareTo(b.toString());
+		}
+	};
+
+	@Autowired
+	private CommonDao commonDao;
+
+	@Autowired
+	private TableVersions tableVersions;
+
+	/**
+	 * 分组计数，格式: 表.列，多个用逗号分隔
+	 */
+	@Value("${aggregate.group:}")
+	private String groupSpecs;
+
+	/**
+	 * 分组求和，格式: 表.x列.y列，多个用逗号分隔
+	 */
+	@Value("${aggregate.value:}")
+	private String valueSpecs;
+
+	/**
+	 * 单列统计(求和、最大、最小、平均)，格式: 表.列，多个用逗号分隔
+	 */
+	@Value("${aggregate.cal:}")
+	private String calSpecs;
+
+	/**
+	 * 登记key -> 汇总
+	 */
+	private final Map<String, Rollup<?>> rollups = new HashMap<String, Rollup<?>>();
+
+	/**
+	 * 表名 -> 该表上的汇总
+	 */
+	private final Map<String, List<Rollup<?>>> tableRollups = new HashMap<String, List<Rollup<?>>>();
+
+	@PostConstruct
+	public void init() {
+		for(String spec : specs(groupSpecs, 2)) {
+			String[] names = spec.split("\\.");
+			register("group." + spec, new GroupRollup(names[0], names[1]));
+		}
+		for(String spec : specs(valueSpecs, 3)) {
+			String[] names = spec.split("\\.");
+			register("value." + spec, new ValueRollup(names[0], names[1], names[2]));
+		}
+		for(String spec : specs(calSpecs, 2)) {
+			String[] names = spec.split("\\.");
+			register("cal." + spec, new CalRollup(names[0], names[1]));
+		}
+	}
+
+	/**
+	 * 定期用数据库重新计算已加载的汇总，纠正其他节点的修改和增量更新的偏差，请求不需要等待重新计算
+	 */
+	@Scheduled(fixedDelayString = "${aggregate.reconcile-interval:600000}")
+	public void reconcile() {
+		for(Rollup<?> rollup : rollups.values()) {
+			rollup.reconcile();
+		}
+	}
+
+	@Override
+	public boolean maintains(String table) {
+		return table != null && tableRollups.containsKey(table.toLowerCase());
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public List<Map<String, Object>> group(String table, String column) {
+		Rollup<?> rollup = rollups.get(("group." + table + "." + column).toLowerCase());
+		return rollup != null ? (List<Map<String, Object>>) rollup.read() : null;
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public List<Map<String, Object>> value(String table, String xColumn, String yColumn) {
+		Rollup<?> rollup = rollups.get(("value." + table + "." + xColumn + "." + yColumn).toLowerCase());
+		return rollup != null ? (List<Map<String, Object>>) rollup.read() : null;
+	}
+
+	@Override
+	public boolean isCalMaintained(String table, String column) {
+		return rollups.containsKey(("cal." + table + "." + column).toLowerCase());
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public Map<String, Object> cal(String table, String column) {
+		Rollup<?> rollup = rollups.get(("cal." + table + "." + column).toLowerCase());
+		return rollup != null ? (Map<String, Object>) rollup.read() : null;
+	}
+
+	@Override
+	public Map<String, Object> batch(String table, List<String> groups, List<String[]> values, List<String> cals) {
+		//需要扫描计算的统计先放入临时汇总，扫描结束后替换为结果
+		final List<Rollup<?>> scanned = new ArrayList<Rollup<?>>();
+		Set<String> columns = new LinkedHashSet<String>();
+		List<Object> groupResults = new ArrayList<Object>();
+		for(String column : groups) {
+			List<Map<String, Object>> result = group(table, column);
+			if(result == null) {
+				Rollup<?> rollup = new GroupRollup(table, column);
+				scanned.add(rollup);
+				columns.add(column);
+				groupResults.add(rollup);
+			} else {
+				groupResults.add(result);
+			}
+		}
+		List<Object> valueResults = new ArrayList<Object>();
+		for(String[] xy : values) {
+			List<Map<String, Object>> result = value(table, xy[0], xy[1]);
+			if(result == null) {
+				Rollup<?> rollup = new ValueRollup(table, xy[0], xy[1]);
+				scanned.add(rollup);
+				columns.add(xy[0]);
+				columns.add(xy[1]);
+				valueResults.add(rollup);
+			} else {
+				valueResults.add(result);
+			}
+		}
+		List<Object> calResults = new ArrayList<Object>();
+		for(String column : cals) {
+			if(isCalMaintained(table, column)) {
+				calResults.add(cal(table, column));
+			} else {
+				Rollup<?> rollup = new CalRollup(table, column);
+				scanned.add(rollup);
+				columns.add(column);
+				calResults.add(rollup);
+			}
+		}
+		if(!scanned.isEmpty()) {
+			commonDao.streamColumns(table, StringUtils.join(columns, ","), new ResultHandler<Map<String, Object>>() {
+				@Override
+				public void handleResult(ResultContext<? extends Map<String, Object>> context) {
+					//所有列都为NULL的行MyBatis返回null，按空行处理，分组统计计入NULL分组
+					Map<String, Object> row = context.getResultObject();
+					if(row == null) {
+						row = Collections.emptyMap();
+					}
+					for(Rollup<?> rollup : scanned) {
+						rollup.add(row, 1);
+					}
+				}
+			});
+		}
+		Map<String, Object> result = new LinkedHashMap<String, Object>();
+		result.put("group", results(groupResults));
+		result.put("value", results(valueResults));
+		result.put("cal", results(calResults));
+		return result;
+	}
+
+	private static List<Object> results(List<Object> list) {
+		for(int i = 0; i < list.size(); i++) {
+			if(list.get(i) instanceof Rollup) {
+				list.set(i, ((Rollup<?>) list.get(i)).snapshot());
+			}
+		}
+		return list;
+	}
+
+	@Override
+	public void inserted(String table, Object row) {
+		apply(table, Collections.emptyList(), Collections.singletonList(row));
+	}
+
+	@Override
+	public void updated(String table, Object before, Object after) {
+		apply(table, Collections.singletonList(before), Collections.singletonList(after));
+	}
+
+	@Override
+	public void deleted(String table, Collection<?> rows) {
+		apply(table, rows, Collections.emptyList());
+	}
+
+	/**
+	 * 在事务中时与表版本号一样等提交后再更新，回滚的修改不计入
+	 */
+	private void apply(String table, Collection<?> removed, Collection<?> added) {
+		List<Rollup<?>> list = table != null ? tableRollups.get(table.toLowerCase()) : null;
+		if(list == null) {
+			return;
+		}
+		if(TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+				@Override
+				public void afterCommit() {
+					for(Rollup<?> rollup : list) {
+						rollup.apply(removed, added);
+					}
+				}
+			});
+			return;
+		}
+		for(Rollup<?> rollup : list) {
+			rollup.apply(removed, added);
+		}
+	}
+
+	private void register(String key, Rollup<?> rollup) {
+		rollups.put(key.toLowerCase(), rollup);
+		List<Rollup<?>> list = tableRollups.get(rollup.table);
+		if(list == null) {
+			list = new ArrayList<Rollup<?>>();
+			tableRollups.put(rollup.table, list);
+		}
+		list.add(rollup);
+	}
+
+	private static List<String> specs(String value, int parts) {
+		List<String> specs = new ArrayList<String>();
+		for(String spec : StringUtils.split(StringUtils.defaultString(value), ',')) {
+			spec = spec.trim().toLowerCase();
+			String[] names = spec.split("\\.");
+			boolean valid = names.length == parts;
+			for(int i = 0; valid && i < names.length; i++) {
+				valid = NAME.matcher(names[i]).matches();
+			}
+			if(!valid) {
+				throw new IllegalArgumentException("汇总配置格式错误: " + spec);
+			}
+			specs.add(spec);
+		}
+		return specs;
+	}
+
+	/**
+	 * 分组的值统一类型，使数据库返回的值与实体属性值可以相互比较
+	 */
+	private static Object key(Object value) {
+		if(value instanceof Date) {
+			return new Date(((Date) value).getTime());
+		}
+		if(value instanceof Long || value instanceof Integer || value instanceof Short || value instanceof Byte) {
+			return ((Number) value).longValue();
+		}
+		if(value instanceof Number) {
+			return new BigDecimal(value.toString()).stripTrailingZeros();
+		}
+		return value;
+	}
+
+	/**
+	 * 求和用的数值，null不参与求和
+	 */
+	private static BigDecimal number(Object value) {
+		if(value == null) {
+			return null;
+		}
+		if(value instanceof BigDecimal) {
+			return (BigDecimal) value;
+		}
+		if(value instanceof Number) {
+			return new BigDecimal(value.toString());
+		}
+		Matcher matcher = NUMBER_PREFIX.matcher(value.toString());
+		return matcher.find() ? new BigDecimal(matcher.group().trim()) : BigDecimal.ZERO;
+	}
+
+	/**
+	 * 读取实体属性或流式查询返回的列值
+	 */
+	@SuppressWarnings("rawtypes")
+	private static Object column(Object row, String column) {
+		return row instanceof Map ? ((Map) row).get(column) : MPUtil.value(row, column);
+	}
+
+	private static long longValue(Object value) {
+		return value == null ? 0 : ((Number) value).longValue();
+	}
+
+	/**
+	 * @param <R> 返回给调用方的结果类型
+	 */
+	private abstract class Rollup<R> {
+
+		final String table;
+
+		private boolean loaded;
+
+		/**
+		 * 加载时的表版本号
+		 */
+		private long baseVersion;
+
+		/**
+		 * 加载后增量更新的次数
+		 */
+		private long applied;
+
+		Rollup(String table) {
+			this.table = table;
+		}
+
+		synchronized R read() {
+			if(!loaded || tableVersions.get(table) != baseVersion + applied) {
+				reload();
+			}
+			return snapshot();
+		}
+
+		synchronized void reconcile() {
+			if(loaded) {
+				reload();
+			}
+		}
+
+		private void reload() {
+			long version = tableVersions.get(table);
+			clear();
+			load();
+			baseVersion = version;
+			applied = 0;
+			//加载期间表被修改时无法确定结果是否包含该修改，下次访问再加载一次
+			loaded = tableVersions.get(table) == version;
+		}
+
+		/**
+		 * 每次调用对应一条写语句，表版本号恰好比已知状态多一时才增量更新，否则等下次访问时重新加载
+		 */
+		synchronized void apply(Collection<?> removed, Collection<?> added) {
+			if(!loaded) {
+				return;
+			}
+			if(tableVersions.get(table) != baseVersion + applied + 1) {
+				loaded = false;
+				return;
+			}
+			for(Object row : removed) {
+				if(row != null) {
+					add(row, -1);
+				}
+			}
+			for(Object row : added) {
+				if(row != null) {
+					add(row, 1);
+				}
+			}
+			applied++;
+		}
+
+		abstract void clear();
+
+		abstract void load();
+
+		abstract void add(Object row, int sign);
+
+		abstract R snapshot();
+	}
+
+	/**
+	 * 按列分组计数
+	 */
+	private class GroupRollup extends Rollup<List<Map<String, Object>>> {
+
+		private final String column;
+
+		private final Map<Object, Long> counts = new HashMap<Object, Long>();
+
+		GroupRollup(String table, String column) {
+			super(table);
+			this.column = column;
+		}
+
+		@Override
+		void clear() {
+			counts.clear();
+		}
+
+		@Override
+		void load() {
+			Map<String, Object> params = new HashMap<String, Object>();
+			params.put("table", table);
+			params.put("column", column);
+			for(Map<String, Object> row : commonDao.selectGroup(params)) {
+				counts.put(key(row.get(column)), longValue(row.get("total")));
+			}
+		}
+
+		@Override
+		void add(Object row, int sign) {
+			Object key = key(column(row, column));
+			Long count = counts.get(key);
+			long total = (count == null ? 0 : count) + sign;
+			if(total > 0) {
+				counts.put(key, total);
+			} else {
+				counts.remove(key);
+			}
+		}
+
+		@Override
+		List<Map<String, Object>> snapshot() {
+			List<Object> keys = new ArrayList<Object>(counts.keySet());
+			Collections.sort(keys, KEY_ORDER);
+			List<Map<String, Object>> result = new ArrayList<Map<String, Object>>(keys.size());
+			for(Object key : keys) {
+				Map<String, Object> map = new LinkedHashMap<String, Object>();
+				map.put(column, key);
+				map.put("total", counts.get(key));
+				result.add(map);
+			}
+			return result;
+		}
+	}
+
+	/**
+	 * 按x列分组对y列求和
+	 */
+	private class ValueRollup extends Rollup<List<Map<String, Object>>> {
+
+		private final String xColumn;
+
+		private final String yColumn;
+
+		private final Map<Object, Cell> cells = new HashMap<Object, Cell>();
+
+		ValueRollup(String table, String xColumn, String yColumn) {
+			super(table);
+			this.xColumn = xColumn;
+			this.yColumn = yColumn;
+		}
+
+		@Override
+		void clear() {
+			cells.clear();
+		}
+
+		@Override
+		void load() {
+			Map<String, Object> params = new HashMap<String, Object>();
+			params.put("table", table);
+			params.put("xColumn", xColumn);
+			params.put("yColumn", yColumn);
+			for(Map<String, Object> row : commonDao.selectValueRollup(params)) {
+				Cell cell = new Cell();
+				cell.records = longValue(row.get("records"));
+				cell.valued = longValue(row.get("valued"));
+				BigDecimal total = number(row.get("total"));
+				cell.sum = total != null ? total : BigDecimal.ZERO;
+				cells.put(key(row.get(xColumn)), cell);
+			}
+		}
+
+		@Override
+		void add(Object row, int sign) {
+			Object key = key(column(row, xColumn));
+			Cell cell = cells.get(key);
+			if(cell == null) {
+				cell = new Cell();
+				cells.put(key, cell);
+			}
+			cell.records += sign;
+			BigDecimal value = number(column(row, yColumn));
+			if(value != null) {
+				cell.valued += sign;
+				cell.sum = sign > 0 ? cell.sum.add(value) : cell.sum.subtract(value);
+			}
+			if(cell.records <= 0) {
+				cells.remove(key);
+			}
+		}
+
+		@Override
+		List<Map<String, Object>> snapshot() {
+			List<Object> keys = new ArrayList<Object>(cells.keySet());
+			Collections.sort(keys, KEY_ORDER);
+			List<Map<String, Object>> result = new ArrayList<Map<String, Object>>(keys.size());
+			for(Object key : keys) {
+				Cell cell = cells.get(key);
+				Map<String, Object> map = new LinkedHashMap<String, Object>();
+				map.put(xColumn, key);
+				map.put("total", cell.valued > 0 ? cell.sum : null);
+				result.add(map);
+			}
+			return result;
+		}
+	}
+
+	/**
+	 * 单列的求和、最大、最小、平均值
+	 * 非空值按值计数保存在有序表中，删除或修改使最大最小值变小时直接取有序表的两端，不需要重新查询
+	 */
+	private class CalRollup extends Rollup<Map<String, Object>> {
+
+		private final String column;
+
+		/**
+		 * 非空值 -> 出现次数
+		 */
+		private final TreeMap<Object, Long> values = new TreeMap<Object, Long>(KEY_ORDER);
+
+		private long count;
+
+		private BigDecimal sum = BigDecimal.ZERO;
+
+		CalRollup(String table, String column) {
+			super(table);
+			this.column = column;
+		}
+
+		@Override
+		void clear() {
+			values.clear();
+			count = 0;
+			sum = BigDecimal.ZERO;
+		}
+
+		@Override
+		void load() {
+			Map<String, Object> params = new HashMap<String, Object>();
+			params.put("table", table);
+			params.put("column", column);
+			for(Map<String, Object> row : commonDao.selectGroup(params)) {
+				Object value = row.get(column);
+				if(value != null) {
+					count(value, longValue(row.get("total")));
+				}
+			}
+		}
+
+		@Override
+		void add(Object row, int sign) {
+			Object value = column(row, column);
+			if(value != null) {
+				count(value, sign);
+			}
+		}
+
+		private void count(Object value, long times) {
+			Object key = key(value);
+			Long current = values.get(key);
+			long total = (current == null ? 0 : current) + times;
+			if(total > 0) {
+				values.put(key, total);
+			} else {
+				values.remove(key);
+			}
+			count += times;
+			sum = sum.add(number(value).multiply(BigDecimal.valueOf(times)));
+		}
+
+		/**
+		 * 没有非空值时返回null，与数据库查询结果一致
+		 */
+		@Override
+		Map<String, Object> snapshot() {
+			if(count <= 0 || values.isEmpty()) {
+				return null;
+			}
+			Map<String, Object> map = new LinkedHashMap<String, Object>();
+			map.put("sum", sum);
+			map.put("max", values.lastKey());
+			map.put("min", values.firstKey());
+			map.put("avg", sum.divide(BigDecimal.valueOf(count), 4, RoundingMode.HALF_UP));
+			return map;
+		}
+	}
+
+	private static class Cell {
+
+		long records;
+
+		long valued;
+
+		BigDecimal sum = BigDecimal.ZERO;
+	}
+}
@@ -2,14 +2,22 @@
 package com.service.impl;
 
 
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 
+import javax.annotation.PostConstruct;
+
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import com.dao.CommonDao;
+import com.service.AggregateService;
 import com.service.CommonService;
+import com.utils.CacheStats;
+import com.utils.LruCache;
+import com.utils.TableVersions;
 
 
 /**
@@ -20,10 +28,54 @@ public class CommonServiceImpl implements CommonService {
 	
 	@Autowired
 	private CommonDao commonDao;
+	
+	@Autowired
+	private AggregateService aggregateService;
+	
+	@Autowired
+	private TableVersions tableVersions;
+	
+	@Value("${option.cache.size:1000}")
+	private int optionCacheSize;
+	
+	/**
+	 * 下拉选项缓存存活时间(秒)，同步其他节点的修改
+	 */
+	@Value("${option.cache.ttl:600}")
+	private long optionCacheTtl;
+	
+	/**
+	 * 表名+版本号+列名+level+parent -> 选项，表有写操作后版本号变化，旧的缓存不再命中
+	 */
+	private LruCache<String, List<String>> optionCache;
+	
+	private final CacheStats optionStats = new CacheStats();
+	
+	@PostConstruct
+	public void init() {
+		optionCache = new LruCache<String, List<String>>(optionCacheSize, optionCacheTtl * 1000);
+	}
 
 	@Override
 	public List<String> getOption(Map<String, Object> params) {
-		return commonDao.getOption(params);
+		long start = System.nanoTime();
+		String table = (String) params.get("table");
+		String key = table + "|" + tableVersions.get(table) + "|" + params.get("column") + "|" + params.get("level") + "|" + params.get("parent");
+		List<String> options = optionCache.get(key);
+		boolean hit = options != null;
+		if(!hit) {
+			options = Collections.unmodifiableList(commonDao.getOption(params));
+			optionCache.put(key, options);
+		}
+		optionStats.record(hit, start);
+		return options;
+	}
+	
+	@Override
+	public Map<String, Object> optionStats() {
+		Map<String, Object> map = optionStats.toMap();
+		map.put("size", optionCache.size());
+		return map;
 	}
 	
 	@Override
@@ -43,17 +95,29 @@ public class CommonServiceImpl implements CommonService {
 
 	@Override
 	public Map<String, Object> selectCal(Map<String, Object> params) {
+		String table = (String) params.get("table");
+		String column = (String) params.get("column");
+		if(aggregateService.isCalMaintained(table, column)) {
+			return aggregateService.cal(table, column);
+		}
 		return commonDao.selectCal(params);
 	}
 	
 	@Override
 	public List<Map<String, Object>> selectGroup(Map<String, Object> params) {
-		return commonDao.selectGroup(params);
+		List<Map<String, Object>> result = aggregateService.group((String) params.get("table"), (String) params.get("column"));
+		return result != null ? result : commonDao.selectGroup(params);
 	}
 	
 	@Override
 	public List<Map<String, Object>> selectValue(Map<String, Object> params) {
-		return commonDao.selectValue(params);
+		List<Map<String, Object>> result = aggregateService.value((String) params.get("table"), (String) params.get("xColumn"), (String) params.get("yColumn"));
+		return result != null ? result : commonDao.selectValue(params);
+	}
+	
+	@Override
+	public Map<String, Object> selectBatch(String table, List<String> groups, List<String[]> values, List<String> cals) {
+		return aggregateService.batch(table, groups, values, cals);
 	}
 
 }
@@ -1,33 +1,119 @@
-
 package com.service.impl;
 
 
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
+import javax.annotation.PostConstruct;
+
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import org.springframework.util.DigestUtils;
 
 import com.baomidou.mybatisplus.mapper.EntityWrapper;
-import com.baomidou.mybatisplus.plugins.Page;
 import com.baomidou.mybatisplus.service.impl.ServiceImpl;
 import com.dao.ConfigDao;
 import com.entity.ConfigEntity;
 import com.entity.UserEntity;
 import com.service.ConfigService;
+import com.utils.MPUtil;
 import com.utils.PageUtils;
 import com.utils.Query;
 
 
 /**
  * 系统用户
+ * 配置读多写少，读取走启动时加载的只读快照，写入后整体重建快照
  */
 @Service("configService")
 public class ConfigServiceImpl extends ServiceImpl<ConfigDao, ConfigEntity> implements ConfigService {
+
+	private volatile Snapshot snapshot = new Snapshot(Collections.<ConfigEntity>emptyList());
+
 	@Override
 	public PageUtils queryPage(Map<String, Object> params) {
-		Page<ConfigEntity> page = this.selectPage(
-                new Query<ConfigEntity>(params).getPage(),
-                new EntityWrapper<ConfigEntity>()
-        );
-        return new PageUtils(page);
+		Query<ConfigEntity> query = new Query<ConfigEntity>(params);
+		int currPage = Math.max(query.getCurrPage(), 1);
+		int limit = Math.max(query.getLimit(), 1);
+		List<ConfigEntity> list = sort(snapshot.list, (String) query.get("sidx"), (String) query.get("order"));
+		int from = (int) Math.min((long) (currPage - 1) * limit, list.size());
+		int to = (int) Math.min((long) from + limit, list.size());
+		return new PageUtils(list.subList(from, to), list.size(), limit, currPage);
+	}
+
+	/**
+	 * 与Query交给数据库的排序一致：sidx和order都不为空时才排序，NULL排在最前
+	 */
+	private static List<ConfigEntity> sort(List<ConfigEntity> list, String sidx, String order) {
+		if(StringUtils.isBlank(sidx) || StringUtils.isBlank(order)) {
+			return list;
+		}
+		int direction = "ASC".equalsIgnoreCase(order) ? 1 : -1;
+		List<ConfigEntity> sorted = new ArrayList<ConfigEntity>(list);
+		Collections.sort(sorted, (a, b) -> direction * compare(MPUtil.value(a, sidx), MPUtil.value(b, sidx)));
+		return sorted;
+	}
+
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	private static int compare(Object a, Object b) {
+		if(a == null || b == null) {
+			return a == null ? (b == null ? 0 : -1) : 1;
+		}
+		return ((Comparable) a).compareTo(b);
+	}
+
+	@Override
+	public ConfigEntity selectByName(String name) {
+		return snapshot.byName.get(name);
+	}
+
+	@Override
+	public String getValue(String name) {
+		ConfigEntity config = snapshot.byName.get(name);
+		return config == null ? null : config.getValue();
+	}
+
+	@Override
+	public String getVersion() {
+		return snapshot.version;
+	}
+
+	/**
+	 * 启动时加载，并定时刷新以同步其他节点的修改
+	 */
+	@Override
+	@PostConstruct
+	@Scheduled(initialDelayString = "${config.refresh-interval:60000}", fixedDelayString = "${config.refresh-interval:60000}")
+	public void reload() {
+		snapshot = new Snapshot(this.selectList(new EntityWrapper<ConfigEntity>().orderBy("id", true)));
+	}
+
+	/**
+	 * 配置快照，创建后不再修改
+	 */
+	private static class Snapshot {
+		final List<ConfigEntity> list;
+		final Map<String, ConfigEntity> byName;
+		/**
+		 * 内容摘要，内容不变则版本不变
+		 */
+		final String version;
+
+		Snapshot(List<ConfigEntity> configs) {
+			Map<String, ConfigEntity> map = new HashMap<String, ConfigEntity>();
+			StringBuilder content = new StringBuilder();
+			for(ConfigEntity config : configs) {
+				map.put(config.getName(), config);
+				content.append(config.getId()).append('\u0001').append(config.getName()).append('\u0001').append(config.getValue()).append('\u0002');
+			}
+			this.list = Collections.unmodifiableList(new ArrayList<ConfigEntity>(configs));
+			this.byName = Collections.unmodifiableMap(map);
+			this.version = DigestUtils.md5DigestAsHex(content.toString().getBytes(StandardCharsets.UTF_8));
+		}
 	}
 }
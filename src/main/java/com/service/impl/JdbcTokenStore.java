@@ -0,0 +1,69 @@
+package com.service.impl;
+
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import com.baomidou.mybatisplus.mapper.EntityWrapper;
+import com.dao.TokenDao;
+import com.entity.TokenEntity;
+import com.service.TokenStore;
+import com.utils.CacheStats;
+
+/**
+ * token表存储(默认)
+ */
+@Component
+@ConditionalOnProperty(name = "token.store", havingValue = "jdbc", matchIfMissing = true)
+public class JdbcTokenStore implements TokenStore {
+
+	@Autowired
+	private TokenDao tokenDao;
+
+	private final CacheStats stats = new CacheStats();
+
+	@Override
+	public TokenEntity findByToken(String token) {
+		long start = System.nanoTime();
+		TokenEntity tokenEntity = first(tokenDao.selectList(new EntityWrapper<TokenEntity>().eq("token", token)));
+		stats.record(tokenEntity != null, start);
+		return tokenEntity;
+	}
+
+	/**
+	 * 依赖token表(userid, role)唯一索引，一条语句完成插入或覆盖
+	 */
+	@Override
+	public void save(TokenEntity tokenEntity) {
+		tokenDao.upsertToken(tokenEntity);
+	}
+
+	@Override
+	public void remove(String token) {
+		tokenDao.delete(new EntityWrapper<TokenEntity>().eq("token", token));
+	}
+
+	@Override
+	public void renew(List<TokenEntity> tokenEntities) {
+		tokenDao.renewBatch(tokenEntities);
+	}
+
+	@Override
+	public int purgeExpired(int batchSize) {
+		return tokenDao.deleteExpired(batchSize);
+	}
+
+	@Override
+	public Map<String, Object> stats() {
+		Map<String, Object> map = stats.toMap();
+		map.put("store", "jdbc");
+		return map;
+	}
+
+	private TokenEntity first(List<TokenEntity> list) {
+		return list == null || list.isEmpty() ? null : list.get(0);
+	}
+}
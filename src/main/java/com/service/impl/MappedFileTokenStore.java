@@ -0,0 +1,183 @@
+package com.service.impl;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import com.alibaba.fastjson.JSONObject;
+import com.entity.TokenEntity;
+
+/**
+ * 内存映射文件存储
+ * 写操作以追加日志形式写入映射文件，启动时回放日志重建内存索引，重启后token仍然有效且不依赖数据库。
+ * 日志记录格式: [int 长度][byte 类型][内容]，长度为0表示日志结束
+ */
+@Component
+@ConditionalOnProperty(name = "token.store", havingValue = "file")
+public class MappedFileTokenStore extends MemoryTokenStore {
+
+	private static final byte OP_PUT = 1;
+
+	private static final byte OP_REMOVE = 2;
+
+	@Value("${token.file.path:./data/token.store}")
+	private String path;
+
+	/**
+	 * 映射文件初始大小(字节)
+	 */
+	@Value("${token.file.size:16777216}")
+	private int initialSize;
+
+	private File file;
+
+	private MappedByteBuffer buffer;
+
+	@PostConstruct
+	public synchronized void init() throws IOException {
+		file = new File(path);
+		if(file.getParentFile() != null && !file.getParentFile().exists()) {
+			file.getParentFile().mkdirs();
+		}
+		buffer = map(file, Math.max(initialSize, (int) file.length()));
+		replay();
+		//启动时压缩一次，丢弃已删除和已过期的记录
+		compact(buffer.capacity());
+	}
+
+	@PreDestroy
+	public synchronized void close() {
+		if(buffer != null) {
+			buffer.force();
+		}
+	}
+
+	@Override
+	public synchronized void save(TokenEntity tokenEntity) {
+		super.save(tokenEntity);
+		append(OP_PUT, JSONObject.toJSONString(tokenEntity));
+	}
+
+	@Override
+	public synchronized void renew(List<TokenEntity> tokenEntities) {
+		super.renew(tokenEntities);
+		for(TokenEntity renewal : tokenEntities) {
+			TokenEntity tokenEntity = tokens.get(renewal.getToken());
+			if(tokenEntity != null) {
+				append(OP_PUT, JSONObject.toJSONString(tokenEntity));
+			}
+		}
+	}
+
+	@Override
+	public synchronized void remove(String token) {
+		super.remove(token);
+		append(OP_REMOVE, token);
+	}
+
+	@Override
+	public Map<String, Object> stats() {
+		Map<String, Object> map = super.stats();
+		map.put("store", "file");
+		map.put("fileBytes", buffer.position());
+		return map;
+	}
+
+	private void replay() {
+		int position = 0;
+		while(position + 4 <= buffer.capacity()) {
+			int length = buffer.getInt(position);
+			if(length <= 0 || position + 4 + length > buffer.capacity()) {
+				break;
+			}
+			buffer.position(position + 4);
+			byte op = buffer.get();
+			byte[] content = new byte[length - 1];
+			buffer.get(content);
+			String value = new String(content, StandardCharsets.UTF_8);
+			if(op == OP_PUT) {
+				put(JSONObject.parseObject(value, TokenEntity.class));
+			} else if(op == OP_REMOVE) {
+				super.remove(value);
+			}
+			position += 4 + length;
+		}
+		buffer.position(position);
+	}
+
+	private void append(byte op, String value) {
+		byte[] content = value.getBytes(StandardCharsets.UTF_8);
+		int recordSize = 4 + 1 + content.length + 4;
+		if(buffer.remaining() < recordSize) {
+			compact(Math.max(buffer.capacity(), (tokens.size() + 1) * (recordSize + 256) * 2));
+		}
+		int start = buffer.position();
+		buffer.position(start + 4);
+		buffer.put(op);
+		buffer.put(content);
+		//先写结束标记再写长度，保证记录写完整之前不会被回放
+		buffer.putInt(buffer.position(), 0);
+		buffer.putInt(start, 1 + content.length);
+	}
+
+	/**
+	 * 将内存中未过期的token重写到新文件并原子替换旧文件
+	 */
+	private void compact(int size) {
+		long now = System.currentTimeMillis();
+		List<byte[]> records = new ArrayList<byte[]>();
+		int total = 4;
+		for(TokenEntity tokenEntity : new ArrayList<TokenEntity>(tokens.values())) {
+			if(tokenEntity.getExpiratedtime() != null && tokenEntity.getExpiratedtime().getTime() < now) {
+				super.remove(tokenEntity.getToken());
+				continue;
+			}
+			byte[] content = JSONObject.toJSONString(tokenEntity).getBytes(StandardCharsets.UTF_8);
+			records.add(content);
+			total += 4 + 1 + content.length;
+		}
+		File tmp = new File(file.getPath() + ".tmp");
+		tmp.delete();
+		try {
+			MappedByteBuffer target = map(tmp, Math.max(size, total * 2));
+			for(byte[] content : records) {
+				target.putInt(1 + content.length);
+				target.put(OP_PUT);
+				target.put(content);
+			}
+			target.putInt(target.position(), 0);
+			target.force();
+			Files.move(tmp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+			buffer = target;
+		} catch (IOException e) {
+			throw new IllegalStateException("token文件压缩失败: " + file.getAbsolutePath(), e);
+		}
+	}
+
+	private static MappedByteBuffer map(File target, int size) throws IOException {
+		RandomAccessFile raf = new RandomAccessFile(target, "rw");
+		try {
+			FileChannel channel = raf.getChannel();
+			MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+			return mapped;
+		} finally {
+			//映射在通道关闭后依然有效
+			raf.close();
+		}
+	}
+}
@@ -1,15 +1,19 @@
 package com.service.impl;
 
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import java.util.Map;
 import java.util.List;
 
 import com.baomidou.mybatisplus.mapper.Wrapper;
+import org.apache.ibatis.session.ResultHandler;
 import com.baomidou.mybatisplus.mapper.EntityWrapper;
 import com.baomidou.mybatisplus.plugins.Page;
 import com.baomidou.mybatisplus.service.impl.ServiceImpl;
+import com.utils.PageQueryTemplate;
 import com.utils.PageUtils;
 import com.utils.Query;
+import com.utils.SessionCache;
 
 
 import com.dao.MeishidianDao;
@@ -21,6 +25,27 @@ import com.entity.view.MeishidianView;
 @Service("meishidianService")
 public class MeishidianServiceImpl extends ServiceImpl<MeishidianDao, MeishidianEntity> implements MeishidianService {
 	
+	@Autowired
+	private PageQueryTemplate pageQueryTemplate;
+
+	@Autowired
+	private SessionCache sessionCache;
+
+	/**
+	 * 缓存和返回的账号都不包含密码
+	 */
+	@Override
+	public MeishidianEntity selectSessionById(Long id) {
+		return sessionCache.get("meishidian", id, key -> {
+			MeishidianEntity meishidian = this.selectById(key);
+			if(meishidian != null) {
+				meishidian.setMima(null);
+			}
+			return meishidian;
+		});
+	}
+
+	
 	
     @Override
     public PageUtils queryPage(Map<String, Object> params) {
@@ -33,10 +58,7 @@ public class MeishidianServiceImpl extends ServiceImpl<MeishidianDao, Meishidian
     
     @Override
 	public PageUtils queryPage(Map<String, Object> params, Wrapper<MeishidianEntity> wrapper) {
-		  Page<MeishidianView> page =new Query<MeishidianView>(params).getPage();
-	        page.setRecords(baseMapper.selectListView(page,wrapper));
-	    	PageUtils pageUtil = new PageUtils(page);
-	    	return pageUtil;
+		return pageQueryTemplate.queryPage(MeishidianEntity.class, baseMapper, params, wrapper, baseMapper::selectListView);
  	}
     
     @Override
@@ -54,6 +76,11 @@ public class MeishidianServiceImpl extends ServiceImpl<MeishidianDao, Meishidian
 		return baseMapper.selectListView(wrapper);
 	}
 
+	@Override
+	public void selectListView(Wrapper<MeishidianEntity> wrapper, ResultHandler<? super MeishidianView> handler) {
+		baseMapper.streamListView(wrapper, handler);
+	}
+
 	@Override
 	public MeishidianView selectView(Wrapper<MeishidianEntity> wrapper) {
 		return baseMapper.selectView(wrapper);
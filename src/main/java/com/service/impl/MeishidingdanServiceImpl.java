@@ -1,26 +1,80 @@
 package com.service.impl;
 
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import java.io.Serializable;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.Map;
 import java.util.List;
 
 import com.baomidou.mybatisplus.mapper.Wrapper;
+import org.apache.ibatis.session.ResultHandler;
 import com.baomidou.mybatisplus.mapper.EntityWrapper;
 import com.baomidou.mybatisplus.plugins.Page;
 import com.baomidou.mybatisplus.service.impl.ServiceImpl;
+import com.utils.PageQueryTemplate;
 import com.utils.PageUtils;
 import com.utils.Query;
 
 
 import com.dao.MeishidingdanDao;
 import com.entity.MeishidingdanEntity;
+import com.service.AggregateService;
 import com.service.MeishidingdanService;
+import com.service.MeishidingdanTongjiService;
 import com.entity.vo.MeishidingdanVO;
 import com.entity.view.MeishidingdanView;
 
 @Service("meishidingdanService")
 public class MeishidingdanServiceImpl extends ServiceImpl<MeishidingdanDao, MeishidingdanEntity> implements MeishidingdanService {
 	
+	@Autowired
+	private PageQueryTemplate pageQueryTemplate;
+	
+	private static final String TABLE = "meishidingdan";
+	
+	@Autowired
+	private AggregateService aggregateService;
+	
+	@Autowired
+	private MeishidingdanTongjiService meishidingdanTongjiService;
+	
+	@Override
+	public boolean insert(MeishidingdanEntity entity) {
+		boolean result = super.insert(entity);
+		MeishidingdanEntity after = selectById(entity.getId());
+		meishidingdanTongjiService.update(null, after);
+		aggregateService.inserted(TABLE, after);
+		return result;
+	}
+	
+	/**
+	 * 修改前的记录加行锁读取，并发修改同一订单时后一个事务读到的是前一个提交后的状态，统计增量不会重复计算
+	 */
+	@Override
+	@Transactional(rollbackFor = Exception.class)
+	public boolean updateById(MeishidingdanEntity entity) {
+		MeishidingdanEntity before = entity.getId() != null ? baseMapper.selectByIdForUpdate(entity.getId()) : null;
+		boolean result = super.updateById(entity);
+		MeishidingdanEntity after = selectById(entity.getId());
+		meishidingdanTongjiService.update(before, after);
+		aggregateService.updated(TABLE, before, after);
+		return result;
+	}
+	
+	@Override
+	@Transactional(rollbackFor = Exception.class)
+	public boolean deleteBatchIds(Collection<? extends Serializable> idList) {
+		List<MeishidingdanEntity> before = idList.isEmpty() ? Collections.<MeishidingdanEntity>emptyList() : baseMapper.selectBatchIdsForUpdate(idList);
+		boolean result = super.deleteBatchIds(idList);
+		for(MeishidingdanEntity order : before) {
+			meishidingdanTongjiService.update(order, null);
+		}
+		aggregateService.deleted(TABLE, before);
+		return result;
+	}
 	
     @Override
     public PageUtils queryPage(Map<String, Object> params) {
@@ -33,10 +87,7 @@ public class MeishidingdanServiceImpl extends ServiceImpl<MeishidingdanDao, Meis
     
     @Override
 	public PageUtils queryPage(Map<String, Object> params, Wrapper<MeishidingdanEntity> wrapper) {
-		  Page<MeishidingdanView> page =new Query<MeishidingdanView>(params).getPage();
-	        page.setRecords(baseMapper.selectListView(page,wrapper));
-	    	PageUtils pageUtil = new PageUtils(page);
-	    	return pageUtil;
+		return pageQueryTemplate.queryPage(MeishidingdanEntity.class, baseMapper, params, wrapper, baseMapper::selectListView);
  	}
     
     @Override
@@ -54,6 +105,11 @@ public class MeishidingdanServiceImpl extends ServiceImpl<MeishidingdanDao, Meis
 		return baseMapper.selectListView(wrapper);
 	}
 
+	@Override
+	public void selectListView(Wrapper<MeishidingdanEntity> wrapper, ResultHandler<? super MeishidingdanView> handler) {
+		baseMapper.streamListView(wrapper, handler);
+	}
+
 	@Override
 	public MeishidingdanView selectView(Wrapper<MeishidingdanEntity> wrapper) {
 		return baseMapper.selectView(wrapper);
@@ -0,0 +1,190 @@
+package com.service.impl;
+
+import java.math.BigDecimal;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.dao.MeishidingdanTongjiDao;
+import com.entity.MeishidingdanEntity;
+import com.service.MeishidingdanTongjiService;
+
+@Service("meishidingdanTongjiService")
+public class MeishidingdanTongjiServiceImpl implements MeishidingdanTongjiService {
+
+	private static final String PAID = "已支付";
+
+	/**
+	 * 总价格是字符串，只有数字格式的计入金额，与rebuild中的SQL一致
+	 */
+	private static final Pattern AMOUNT = Pattern.compile("[0-9]+(\\.[0-9]+)?");
+
+	@Autowired
+	private MeishidingdanTongjiDao meishidingdanTongjiDao;
+
+	/**
+	 * 一次查询最多返回的时段数
+	 */
+	@Value("${stats.orders.max-points:1000}")
+	private int maxPoints;
+
+	@Override
+	public void update(MeishidingdanEntity before, MeishidingdanEntity after) {
+		Map<String, Map<String, Object>> deltas = new LinkedHashMap<String, Map<String, Object>>();
+		add(deltas, before, -1);
+		add(deltas, after, 1);
+		for(Map<String, Object> delta : deltas.values()) {
+			if(!isZero(delta)) {
+				meishidingdanTongjiDao.addDelta(delta);
+			}
+		}
+	}
+
+	@Override
+	public List<Map<String, Object>> series(String dianpuzhanghao, Date start, Date end, String granularity) {
+		SimpleDateFormat format = new SimpleDateFormat(javaFormat(granularity));
+		List<String> buckets = new ArrayList<String>();
+		Calendar calendar = Calendar.getInstance();
+		calendar.setTime(truncate(start, granularity));
+		while(calendar.getTime().before(end)) {
+			if(buckets.size() >= maxPoints) {
+				return null;
+			}
+			buckets.add(format.format(calendar.getTime()));
+			calendar.add(field(granularity), 1);
+		}
+		Map<String, Object> params = new HashMap<String, Object>();
+		params.put("dianpuzhanghao", dianpuzhanghao);
+		params.put("start", truncate(start, granularity));
+		params.put("end", end);
+		params.put("format", sqlFormat(granularity));
+		Map<String, Map<String, Object>> rows = new HashMap<String, Map<String, Object>>();
+		for(Map<String, Object> row : meishidingdanTongjiDao.selectSeries(params)) {
+			rows.put(String.valueOf(row.get("shijian")), row);
+		}
+		List<Map<String, Object>> result = new ArrayList<Map<String, Object>>(buckets.size());
+		for(String shijian : buckets) {
+			Map<String, Object> row = rows.get(shijian);
+			Map<String, Object> point = new LinkedHashMap<String, Object>();
+			point.put("shijian", shijian);
+			point.put("dingdanshu", value(row, "dingdanshu"));
+			point.put("goumaishuliang", value(row, "goumaishuliang"));
+			point.put("zongjiage", value(row, "zongjiage"));
+			point.put("zhifushu", value(row, "zhifushu"));
+			point.put("zhifujine", value(row, "zhifujine"));
+			result.add(point);
+		}
+		return result;
+	}
+
+	@Override
+	@Transactional(rollbackFor = Exception.class)
+	public synchronized void rebuild() {
+		meishidingdanTongjiDao.deleteAll();
+		meishidingdanTongjiDao.rebuild();
+	}
+
+	/**
+	 * 起始时间对齐到所在时段的开始
+	 */
+	private static Date truncate(Date date, String granularity) {
+		Calendar calendar = Calendar.getInstance();
+		calendar.setTime(date);
+		if(MONTH.equals(granularity)) {
+			calendar.set(Calendar.DAY_OF_MONTH, 1);
+		}
+		if(!HOUR.equals(granularity)) {
+			calendar.set(Calendar.HOUR_OF_DAY, 0);
+		}
+		calendar.set(Calendar.MINUTE, 0);
+		calendar.set(Calendar.SECOND, 0);
+		calendar.set(Calendar.MILLISECOND, 0);
+		return calendar.getTime();
+	}
+
+	/**
+	 * 时段对应的Calendar字段
+	 */
+	private static int field(String granularity) {
+		if(HOUR.equals(granularity)) {
+			return Calendar.HOUR_OF_DAY;
+		}
+		return MONTH.equals(granularity) ? Calendar.MONTH : Calendar.DAY_OF_MONTH;
+	}
+
+	private static String sqlFormat(String granularity) {
+		if(HOUR.equals(granularity)) {
+			return "%Y-%m-%d %H:00";
+		}
+		return MONTH.equals(granularity) ? "%Y-%m" : "%Y-%m-%d";
+	}
+
+	private static String javaFormat(String granularity) {
+		if(HOUR.equals(granularity)) {
+			return "yyyy-MM-dd HH:00";
+		}
+		return MONTH.equals(granularity) ? "yyyy-MM" : "yyyy-MM-dd";
+	}
+
+	private static Object value(Map<String, Object> row, String column) {
+		Object value = row != null ? row.get(column) : null;
+		return value != null ? value : 0;
+	}
+
+	/**
+	 * 订单对所在(店铺,小时)的贡献按sign累加到deltas
+	 */
+	private static void add(Map<String, Map<String, Object>> deltas, MeishidingdanEntity order, int sign) {
+		if(order == null) {
+			return;
+		}
+		String dianpuzhanghao = order.getDianpuzhanghao() != null ? order.getDianpuzhanghao() : "";
+		Date time = order.getXiadanshijian() != null ? order.getXiadanshijian() : order.getAddtime();
+		Date shijian = truncate(time != null ? time : new Date(), HOUR);
+		String key = dianpuzhanghao + "|" + shijian.getTime();
+		Map<String, Object> delta = deltas.get(key);
+		if(delta == null) {
+			delta = new HashMap<String, Object>();
+			delta.put("dianpuzhanghao", dianpuzhanghao);
+			delta.put("shijian", shijian);
+			delta.put("dingdanshu", 0);
+			delta.put("goumaishuliang", 0);
+			delta.put("zongjiage", BigDecimal.ZERO);
+			delta.put("zhifushu", 0);
+			delta.put("zhifujine", BigDecimal.ZERO);
+			deltas.put(key, delta);
+		}
+		BigDecimal amount = amount(order.getZongjiage()).multiply(BigDecimal.valueOf(sign));
+		boolean paid = PAID.equals(order.getIspay());
+		delta.put("dingdanshu", (Integer) delta.get("dingdanshu") + sign);
+		delta.put("goumaishuliang", (Integer) delta.get("goumaishuliang") + sign * (order.getGoumaishuliang() != null ? order.getGoumaishuliang() : 0));
+		delta.put("zongjiage", ((BigDecimal) delta.get("zongjiage")).add(amount));
+		if(paid) {
+			delta.put("zhifushu", (Integer) delta.get("zhifushu") + sign);
+			delta.put("zhifujine", ((BigDecimal) delta.get("zhifujine")).add(amount));
+		}
+	}
+
+	private static BigDecimal amount(String zongjiage) {
+		if(zongjiage == null || !AMOUNT.matcher(zongjiage.trim()).matches()) {
+			return BigDecimal.ZERO;
+		}
+		return new BigDecimal(zongjiage.trim());
+	}
+
+	private static boolean isZero(Map<String, Object> delta) {
+		return (Integer) delta.get("dingdanshu") == 0 && (Integer) delta.get("goumaishuliang") == 0 && (Integer) delta.get("zhifushu") == 0
+				&& ((BigDecimal) delta.get("zongjiage")).signum() == 0 && ((BigDecimal) delta.get("zhifujine")).signum() == 0;
+	}
+}
@@ -1,13 +1,16 @@
 package com.service.impl;
 
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import java.util.Map;
 import java.util.List;
 
 import com.baomidou.mybatisplus.mapper.Wrapper;
+import org.apache.ibatis.session.ResultHandler;
 import com.baomidou.mybatisplus.mapper.EntityWrapper;
 import com.baomidou.mybatisplus.plugins.Page;
 import com.baomidou.mybatisplus.service.impl.ServiceImpl;
+import com.utils.PageQueryTemplate;
 import com.utils.PageUtils;
 import com.utils.Query;
 
@@ -21,6 +24,9 @@ import com.entity.view.MeishifenleiView;
 @Service("meishifenleiService")
 public class MeishifenleiServiceImpl extends ServiceImpl<MeishifenleiDao, MeishifenleiEntity> implements MeishifenleiService {
 	
+	@Autowired
+	private PageQueryTemplate pageQueryTemplate;
+	
 	
     @Override
     public PageUtils queryPage(Map<String, Object> params) {
@@ -33,10 +39,7 @@ public class MeishifenleiServiceImpl extends ServiceImpl<MeishifenleiDao, Meishi
     
     @Override
 	public PageUtils queryPage(Map<String, Object> params, Wrapper<MeishifenleiEntity> wrapper) {
-		  Page<MeishifenleiView> page =new Query<MeishifenleiView>(params).getPage();
-	        page.setRecords(baseMapper.selectListView(page,wrapper));
-	    	PageUtils pageUtil = new PageUtils(page);
-	    	return pageUtil;
+		return pageQueryTemplate.queryPage(MeishifenleiEntity.class, baseMapper, params, wrapper, baseMapper::selectListView);
  	}
     
     @Override
@@ -54,6 +57,11 @@ public class MeishifenleiServiceImpl extends ServiceImpl<MeishifenleiDao, Meishi
 		return baseMapper.selectListView(wrapper);
 	}
 
+	@Override
+	public void selectListView(Wrapper<MeishifenleiEntity> wrapper, ResultHandler<? super MeishifenleiView> handler) {
+		baseMapper.streamListView(wrapper, handler);
+	}
+
 	@Override
 	public MeishifenleiView selectView(Wrapper<MeishifenleiEntity> wrapper) {
 		return baseMapper.selectView(wrapper);
@@ -1,13 +1,16 @@
 package com.service.impl;
 
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import java.util.Map;
 import java.util.List;
 
 import com.baomidou.mybatisplus.mapper.Wrapper;
+import org.apache.ibatis.session.ResultHandler;
 import com.baomidou.mybatisplus.mapper.EntityWrapper;
 import com.baomidou.mybatisplus.plugins.Page;
 import com.baomidou.mybatisplus.service.impl.ServiceImpl;
+import com.utils.PageQueryTemplate;
 import com.utils.PageUtils;
 import com.utils.Query;
 
@@ -21,6 +24,9 @@ import com.entity.view.MeishipingjiaView;
 @Service("meishipingjiaService")
 public class MeishipingjiaServiceImpl extends ServiceImpl<MeishipingjiaDao, MeishipingjiaEntity> implements MeishipingjiaService {
 	
+	@Autowired
+	private PageQueryTemplate pageQueryTemplate;
+	
 	
     @Override
     public PageUtils queryPage(Map<String, Object> params) {
@@ -33,10 +39,7 @@ public class MeishipingjiaServiceImpl extends ServiceImpl<MeishipingjiaDao, Meis
     
     @Override
 	public PageUtils queryPage(Map<String, Object> params, Wrapper<MeishipingjiaEntity> wrapper) {
-		  Page<MeishipingjiaView> page =new Query<MeishipingjiaView>(params).getPage();
-	        page.setRecords(baseMapper.selectListView(page,wrapper));
-	    	PageUtils pageUtil = new PageUtils(page);
-	    	return pageUtil;
+		return pageQueryTemplate.queryPage(MeishipingjiaEntity.class, baseMapper, params, wrapper, baseMapper::selectListView);
  	}
     
     @Override
@@ -54,6 +57,11 @@ public class MeishipingjiaServiceImpl extends ServiceImpl<MeishipingjiaDao, Meis
 		return baseMapper.selectListView(wrapper);
 	}
 
+	@Override
+	public void selectListView(Wrapper<MeishipingjiaEntity> wrapper, ResultHandler<? super MeishipingjiaView> handler) {
+		baseMapper.streamListView(wrapper, handler);
+	}
+
 	@Override
 	public MeishipingjiaView selectView(Wrapper<MeishipingjiaEntity> wrapper) {
 		return baseMapper.selectView(wrapper);
@@ -0,0 +1,220 @@
+package com.service.impl;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.annotation.PostConstruct;
+
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.baomidou.mybatisplus.mapper.EntityWrapper;
+import com.baomidou.mybatisplus.plugins.Page;
+import com.dao.MeishixinxiDao;
+import com.entity.MeishixinxiEntity;
+import com.entity.view.MeishixinxiView;
+import com.service.MeishixinxiRankService;
+import com.service.MeishixinxiService;
+import com.utils.LruCache;
+import com.utils.PageUtils;
+
+@Service("meishixinxiRankService")
+public class MeishixinxiRankServiceImpl implements MeishixinxiRankService {
+
+	/**
+	 * 全部分类的排行使用的key
+	 */
+	private static final String ALL = "";
+
+	/**
+	 * 点击次数倒序
+	 */
+	private static final Comparator<MeishixinxiEntity> BY_CLICKNUM = (a, b) -> Integer.compare(clicknum(b), clicknum(a));
+
+	@Autowired
+	private MeishixinxiDao meishixinxiDao;
+
+	/**
+	 * 与MeishixinxiServiceImpl相互依赖，延迟注入
+	 */
+	@Autowired
+	@Lazy
+	private MeishixinxiService meishixinxiService;
+
+	/**
+	 * 每个分类保留的名次数
+	 */
+	@Value("${meishixinxi.rank.top-k:100}")
+	private int topK;
+
+	/**
+	 * 最多缓存的分类数
+	 */
+	@Value("${meishixinxi.rank.max-categories:64}")
+	private int maxCategories;
+
+	/**
+	 * 排行存活时间(秒)，过期后重新加载以同步其他节点的修改
+	 */
+	@Value("${meishixinxi.rank.ttl:600}")
+	private long ttl;
+
+	private LruCache<String, Ranking> rankings;
+
+	/**
+	 * 每次清空排行时加一，加载期间被清空的排行不再放入缓存
+	 */
+	private final AtomicLong generation = new AtomicLong();
+
+	@PostConstruct
+	public void init() {
+		rankings = new LruCache<String, Ranking>(maxCategories, ttl * 1000);
+	}
+
+	@Override
+	public PageUtils topPage(String meishifenlei, int page, int limit) {
+		if(page < 1 || limit < 1 || (long) page * limit > topK) {
+			return null;
+		}
+		Ranking ranking = ranking(meishifenlei == null ? ALL : meishifenlei);
+		List<MeishixinxiView> list = ranking.page((page - 1) * limit, limit);
+		return new PageUtils(list, ranking.total, limit, page);
+	}
+
+	@Override
+	public void update(MeishixinxiEntity meishixinxi) {
+		Ranking all = rankings.get(ALL);
+		if(all != null) {
+			all.update(meishixinxi);
+		}
+		if(StringUtils.isNotEmpty(meishixinxi.getMeishifenlei())) {
+			Ranking ranking = rankings.get(meishixinxi.getMeishifenlei());
+			if(ranking != null) {
+				ranking.update(meishixinxi);
+			}
+		}
+	}
+
+	/**
+	 * 在事务中时等提交后再清空：提前清空的话，提交前并发加载的旧数据会以新的generation放入缓存，直到过期
+	 */
+	@Override
+	public void invalidate() {
+		if(TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+				@Override
+				public void afterCommit() {
+					clear();
+				}
+			});
+			return;
+		}
+		clear();
+	}
+
+	private void clear() {
+		generation.incrementAndGet();
+		rankings.clear();
+	}
+
+	private Ranking ranking(String meishifenlei) {
+		Ranking ranking = rankings.get(meishifenlei);
+		if(ranking == null) {
+			long current = generation.get();
+			ranking = load(meishifenlei);
+			if(current == generation.get()) {
+				rankings.put(meishifenlei, ranking);
+			}
+		}
+		return ranking;
+	}
+
+	private Ranking load(String meishifenlei) {
+		EntityWrapper<MeishixinxiEntity> ew = new EntityWrapper<MeishixinxiEntity>();
+		if(StringUtils.isNotEmpty(meishifenlei)) {
+			ew.eq("meishifenlei", meishifenlei);
+		}
+		ew.orderBy("clicknum", false);
+		Page<MeishixinxiView> page = new Page<MeishixinxiView>(1, topK);
+		List<MeishixinxiView> records = meishixinxiDao.selectListView(page, ew);
+		//合并尚未写回的点击，与/detail显示的点击次数一致
+		for(MeishixinxiView meishixinxi : records) {
+			meishixinxiService.mergePendingClicks(meishixinxi);
+		}
+		Collections.sort(records, BY_CLICKNUM);
+		Ranking ranking = new Ranking((int) page.getTotal());
+		for(MeishixinxiView meishixinxi : records) {
+			ranking.add(meishixinxi);
+		}
+		return ranking;
+	}
+
+	private static int clicknum(MeishixinxiEntity meishixinxi) {
+		return meishixinxi.getClicknum() == null ? 0 : meishixinxi.getClicknum();
+	}
+
+	/**
+	 * 单个分类的前K名，按点击次数倒序排列
+	 * 点击次数只增不减，名次外的美食点击数超过最后一名时替换最后一名即可保证前K名正确
+	 */
+	private class Ranking {
+
+		private final int total;
+
+		private final List<MeishixinxiView> list = new ArrayList<MeishixinxiView>();
+
+		private final Map<Long, MeishixinxiView> byId = new HashMap<Long, MeishixinxiView>();
+
+		Ranking(int total) {
+			this.total = total;
+		}
+
+		void add(MeishixinxiView meishixinxi) {
+			list.add(meishixinxi);
+			byId.put(meishixinxi.getId(), meishixinxi);
+		}
+
+		synchronized List<MeishixinxiView> page(int offset, int limit) {
+			if(offset >= list.size()) {
+				return new ArrayList<MeishixinxiView>();
+			}
+			return new ArrayList<MeishixinxiView>(list.subList(offset, Math.min(offset + limit, list.size())));
+		}
+
+		synchronized void update(MeishixinxiEntity meishixinxi) {
+			MeishixinxiView current = byId.get(meishixinxi.getId());
+			int index;
+			if(current != null) {
+				index = list.indexOf(current);
+			} else {
+				if(list.size() < topK || clicknum(meishixinxi) <= clicknum(list.get(list.size() - 1))) {
+					return;
+				}
+				index = list.size() - 1;
+				byId.remove(list.get(index).getId());
+				current = new MeishixinxiView(meishixinxi);
+				list.set(index, current);
+				byId.put(current.getId(), current);
+			}
+			current.setClicknum(meishixinxi.getClicknum());
+			current.setClicktime(meishixinxi.getClicktime());
+			//向前移动到正确位置
+			while(index > 0 && clicknum(list.get(index - 1)) < clicknum(current)) {
+				list.set(index, list.get(index - 1));
+				index--;
+			}
+			list.set(index, current);
+		}
+	}
+
+}
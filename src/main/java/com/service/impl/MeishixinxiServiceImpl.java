@@ -1,19 +1,38 @@
 package com.service.impl;
 
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Date;
 import java.util.Map;
 import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.annotation.PreDestroy;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import com.baomidou.mybatisplus.mapper.Wrapper;
+import org.apache.ibatis.session.ResultHandler;
 import com.baomidou.mybatisplus.mapper.EntityWrapper;
 import com.baomidou.mybatisplus.plugins.Page;
 import com.baomidou.mybatisplus.service.impl.ServiceImpl;
+import com.utils.PageQueryTemplate;
 import com.utils.PageUtils;
 import com.utils.Query;
 
 
 import com.dao.MeishixinxiDao;
 import com.entity.MeishixinxiEntity;
+import com.service.AggregateService;
+import com.service.MeishixinxiRankService;
 import com.service.MeishixinxiService;
 import com.entity.vo.MeishixinxiVO;
 import com.entity.view.MeishixinxiView;
@@ -21,6 +40,68 @@ import com.entity.view.MeishixinxiView;
 @Service("meishixinxiService")
 public class MeishixinxiServiceImpl extends ServiceImpl<MeishixinxiDao, MeishixinxiEntity> implements MeishixinxiService {
 	
+	private static final Logger logger = LoggerFactory.getLogger(MeishixinxiServiceImpl.class);
+	
+	@Autowired
+	private PageQueryTemplate pageQueryTemplate;
+	
+	/**
+	 * 点击次数写回时每条UPDATE包含的记录数
+	 */
+	private static final int CLICK_BATCH_SIZE = 500;
+	
+	/**
+	 * id -> 尚未写回的点击次数
+	 */
+	private final Map<Long, PendingClick> pendingClicks = new ConcurrentHashMap<Long, PendingClick>();
+	
+	@Autowired
+	private MeishixinxiRankService meishixinxiRankService;
+	
+	private static final String TABLE = "meishixinxi";
+	
+	@Autowired
+	private AggregateService aggregateService;
+	
+	@Override
+	public boolean insert(MeishixinxiEntity entity) {
+		boolean result = super.insert(entity);
+		meishixinxiRankService.invalidate();
+		if(aggregateService.maintains(TABLE)) {
+			aggregateService.inserted(TABLE, selectById(entity.getId()));
+		}
+		return result;
+	}
+	
+	/**
+	 * 点击次数只由addClicknumBatch累加：编辑表单提交的clicknum来自/info，已包含未写回的点击，
+	 * 按原值写入的话下次写回会把这部分点击再加一次
+	 */
+	@Override
+	@Transactional(rollbackFor = Exception.class)
+	public boolean updateById(MeishixinxiEntity entity) {
+		entity.setClicknum(null);
+		//加行锁读取修改前的记录，并发修改同一条时后者读到前者提交后的值，增量更新不会错位
+		MeishixinxiEntity before = aggregateService.maintains(TABLE) && entity.getId() != null ? baseMapper.selectByIdForUpdate(entity.getId()) : null;
+		boolean result = super.updateById(entity);
+		meishixinxiRankService.invalidate();
+		if(before != null) {
+			aggregateService.updated(TABLE, before, selectById(entity.getId()));
+		}
+		return result;
+	}
+	
+	@Override
+	@Transactional(rollbackFor = Exception.class)
+	public boolean deleteBatchIds(Collection<? extends Serializable> idList) {
+		List<MeishixinxiEntity> before = aggregateService.maintains(TABLE) && !idList.isEmpty() ? baseMapper.selectBatchIdsForUpdate(idList) : null;
+		boolean result = super.deleteBatchIds(idList);
+		meishixinxiRankService.invalidate();
+		if(before != null) {
+			aggregateService.deleted(TABLE, before);
+		}
+		return result;
+	}
 	
     @Override
     public PageUtils queryPage(Map<String, Object> params) {
@@ -33,12 +114,21 @@ public class MeishixinxiServiceImpl extends ServiceImpl<MeishixinxiDao, Meishixi
     
     @Override
 	public PageUtils queryPage(Map<String, Object> params, Wrapper<MeishixinxiEntity> wrapper) {
-		  Page<MeishixinxiView> page =new Query<MeishixinxiView>(params).getPage();
-	        page.setRecords(baseMapper.selectListView(page,wrapper));
-	    	PageUtils pageUtil = new PageUtils(page);
-	    	return pageUtil;
+		return pageQueryTemplate.queryPage(MeishixinxiEntity.class, baseMapper, params, wrapper, baseMapper::selectListView, this::withPendingClicks);
  	}
     
+    /**
+     * 有未写回的点击时返回合并后的副本，不修改查询结果本身
+     */
+    private MeishixinxiView withPendingClicks(MeishixinxiView meishixinxi) {
+    	if(!pendingClicks.containsKey(meishixinxi.getId())) {
+    		return meishixinxi;
+    	}
+    	MeishixinxiView copy = new MeishixinxiView(meishixinxi);
+    	mergePendingClicks(copy);
+    	return copy;
+    }
+    
     @Override
 	public List<MeishixinxiVO> selectListVO(Wrapper<MeishixinxiEntity> wrapper) {
  		return baseMapper.selectListVO(wrapper);
@@ -54,9 +144,119 @@ public class MeishixinxiServiceImpl extends ServiceImpl<MeishixinxiDao, Meishixi
 		return baseMapper.selectListView(wrapper);
 	}
 
+	@Override
+	public void selectListView(Wrapper<MeishixinxiEntity> wrapper, ResultHandler<? super MeishixinxiView> handler) {
+		baseMapper.streamListView(wrapper, handler);
+	}
+
 	@Override
 	public MeishixinxiView selectView(Wrapper<MeishixinxiEntity> wrapper) {
 		return baseMapper.selectView(wrapper);
 	}
 
+	@Override
+	public void recordClick(MeishixinxiEntity meishixinxi) {
+		long now = System.currentTimeMillis();
+		PendingClick pending = pending(meishixinxi.getId());
+		pending.lastClick = now;
+		pending.count.incrementAndGet();
+		if(pendingClicks.get(meishixinxi.getId()) != pending) {
+			//计数器已被写回任务当作空闲移除，把这次点击转到新的计数器
+			moveLateClicks(meishixinxi.getId(), pending);
+		}
+		mergePendingClicks(meishixinxi);
+		meishixinxi.setClicktime(new Date(now));
+		meishixinxiRankService.update(meishixinxi);
+	}
+
+	@Override
+	public void mergePendingClicks(MeishixinxiEntity meishixinxi) {
+		PendingClick pending = pendingClicks.get(meishixinxi.getId());
+		if(pending != null) {
+			int clicknum = meishixinxi.getClicknum() == null ? 0 : meishixinxi.getClicknum();
+			meishixinxi.setClicknum(clicknum + (int) pending.count.get());
+		}
+	}
+
+	@Override
+	@Scheduled(fixedDelayString = "${meishixinxi.click-flush-interval:5000}")
+	@PreDestroy
+	public void flushClicks() {
+		List<MeishixinxiEntity> batch = new ArrayList<MeishixinxiEntity>();
+		List<PendingClick> counters = new ArrayList<PendingClick>();
+		for(Map.Entry<Long, PendingClick> entry : pendingClicks.entrySet()) {
+			PendingClick pending = entry.getValue();
+			long delta = pending.count.getAndSet(0);
+			if(delta == 0) {
+				//上次写回后没有新的点击，移除计数器避免map随浏览过的美食无限增长
+				if(pendingClicks.remove(entry.getKey(), pending)) {
+					moveLateClicks(entry.getKey(), pending);
+				}
+				continue;
+			}
+			MeishixinxiEntity meishixinxi = new MeishixinxiEntity();
+			meishixinxi.setId(entry.getKey());
+			meishixinxi.setClicknum((int) delta);
+			meishixinxi.setClicktime(new Date(pending.lastClick));
+			batch.add(meishixinxi);
+			counters.add(pending);
+			if(batch.size() >= CLICK_BATCH_SIZE) {
+				writeClicks(batch, counters);
+				batch = new ArrayList<MeishixinxiEntity>();
+				counters = new ArrayList<PendingClick>();
+			}
+		}
+		if(!batch.isEmpty()) {
+			writeClicks(batch, counters);
+		}
+	}
+
+	/**
+	 * 写回失败时把增量加回计数器，下次重试，不影响本次的其他批次
+	 */
+	private void writeClicks(List<MeishixinxiEntity> batch, List<PendingClick> counters) {
+		try {
+			baseMapper.addClicknumBatch(batch);
+		} catch (RuntimeException e) {
+			for(int i = 0; i < batch.size(); i++) {
+				counters.get(i).count.addAndGet(batch.get(i).getClicknum());
+			}
+			logger.warn("点击次数写回失败，{}条记录下次重试", batch.size(), e);
+		}
+	}
+
+	private PendingClick pending(Long id) {
+		PendingClick pending = pendingClicks.get(id);
+		if(pending == null) {
+			PendingClick created = new PendingClick();
+			pending = pendingClicks.putIfAbsent(id, created);
+			if(pending == null) {
+				pending = created;
+			}
+		}
+		return pending;
+	}
+
+	/**
+	 * 计数器移除后仍可能有并发的点击计入，取出这部分点击加到当前计数器
+	 * getAndSet保证每次点击只被取出一次，无论由写回任务还是点击线程取出
+	 */
+	private void moveLateClicks(Long id, PendingClick removed) {
+		long late = removed.count.getAndSet(0);
+		if(late > 0) {
+			PendingClick pending = pending(id);
+			pending.lastClick = Math.max(pending.lastClick, removed.lastClick);
+			pending.count.addAndGet(late);
+		}
+	}
+
+	/**
+	 * 单个美食的未写回点击
+	 * 写回时用getAndSet(0)原子地取出并清零，取出和清零之间的点击不会丢失
+	 */
+	private static class PendingClick {
+		final AtomicLong count = new AtomicLong();
+		volatile long lastClick;
+	}
+
 }
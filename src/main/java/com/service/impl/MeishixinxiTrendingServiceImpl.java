@@ -0,0 +1,187 @@
+package com.service.impl;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.annotation.PostConstruct;
+
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.baomidou.mybatisplus.mapper.EntityWrapper;
+import com.dao.MeishixinxiDao;
+import com.entity.EIException;
+import com.entity.MeishidingdanEntity;
+import com.entity.MeishixinxiEntity;
+import com.service.MeishixinxiTrendingService;
+import com.utils.LruCache;
+import com.utils.SlidingWindowCounter;
+
+@Service("meishixinxiTrendingService")
+public class MeishixinxiTrendingServiceImpl implements MeishixinxiTrendingService {
+
+	private static final long MINUTE = 60 * 1000L;
+
+	private static final long HOUR = 60 * MINUTE;
+
+	@Autowired
+	private MeishixinxiDao meishixinxiDao;
+
+	/**
+	 * 一次下单相当于多少次浏览
+	 */
+	@Value("${meishixinxi.trending.order-weight:5}")
+	private int orderWeight;
+
+	/**
+	 * 店铺账号+美食名称到美食id的缓存最大条目数
+	 */
+	@Value("${meishixinxi.trending.dish-cache.size:10000}")
+	private int dishCacheSize;
+
+	/**
+	 * 缓存存活时间(秒)，美食改名或删除后最多这么久仍按旧id计数
+	 */
+	@Value("${meishixinxi.trending.dish-cache.ttl:3600}")
+	private long dishCacheTtl;
+
+	/**
+	 * 店铺账号+美食名称 -> 美食id
+	 */
+	private LruCache<String, Long> dishIds;
+
+	private final Map<Long, DishCounter> counters = new ConcurrentHashMap<Long, DishCounter>();
+
+	@PostConstruct
+	public void init() {
+		dishIds = new LruCache<String, Long>(dishCacheSize, dishCacheTtl * 1000);
+	}
+
+	@Override
+	public void recordView(Long id) {
+		if(id != null) {
+			counter(id).add(System.currentTimeMillis(), 1);
+		}
+	}
+
+	@Override
+	public void recordOrder(MeishidingdanEntity meishidingdan) {
+		Long id = dishId(meishidingdan.getDianpuzhanghao(), meishidingdan.getMeishimingcheng());
+		if(id != null) {
+			counter(id).add(System.currentTimeMillis(), orderWeight);
+		}
+	}
+
+	@Override
+	public Map<Long, Long> top(String window, int limit) {
+		long now = System.currentTimeMillis();
+		PriorityQueue<long[]> heap = new PriorityQueue<long[]>(limit + 1, (a, b) -> Long.compare(a[1], b[1]));
+		for(Map.Entry<Long, DishCounter> entry : counters.entrySet()) {
+			long score = entry.getValue().sum(window, now);
+			if(score <= 0) {
+				continue;
+			}
+			if(heap.size() < limit) {
+				heap.add(new long[] { entry.getKey(), score });
+			} else if(score > heap.peek()[1]) {
+				heap.poll();
+				heap.add(new long[] { entry.getKey(), score });
+			}
+		}
+		List<long[]> sorted = new ArrayList<long[]>(heap);
+		Collections.sort(sorted, (a, b) -> Long.compare(b[1], a[1]));
+		Map<Long, Long> result = new LinkedHashMap<Long, Long>();
+		for(long[] item : sorted) {
+			result.put(item[0], item[1]);
+		}
+		return result;
+	}
+
+	@Override
+	public void remove(Long id) {
+		counters.remove(id);
+	}
+
+	/**
+	 * 移除7天内没有任何计数的美食
+	 */
+	@Scheduled(fixedDelayString = "${meishixinxi.trending.evict-interval:3600000}")
+	public void evictIdle() {
+		long threshold = System.currentTimeMillis() - 7 * 24 * HOUR;
+		for(Iterator<DishCounter> it = counters.values().iterator(); it.hasNext();) {
+			if(it.next().lastTime() < threshold) {
+				it.remove();
+			}
+		}
+	}
+
+	private DishCounter counter(Long id) {
+		DishCounter counter = counters.get(id);
+		if(counter == null) {
+			counters.putIfAbsent(id, new DishCounter());
+			counter = counters.get(id);
+		}
+		return counter;
+	}
+
+	private Long dishId(String dianpuzhanghao, String meishimingcheng) {
+		if(StringUtils.isEmpty(meishimingcheng)) {
+			return null;
+		}
+		String key = dianpuzhanghao + "\u0001" + meishimingcheng;
+		Long id = dishIds.get(key);
+		if(id == null) {
+			EntityWrapper<MeishixinxiEntity> ew = new EntityWrapper<MeishixinxiEntity>();
+			ew.eq("meishimingcheng", meishimingcheng);
+			if(StringUtils.isNotEmpty(dianpuzhanghao)) {
+				ew.eq("dianpuzhanghao", dianpuzhanghao);
+			}
+			List<MeishixinxiEntity> list = meishixinxiDao.selectList(ew);
+			if(list.isEmpty()) {
+				return null;
+			}
+			id = list.get(0).getId();
+			dishIds.put(key, id);
+		}
+		return id;
+	}
+
+	/**
+	 * 单个美食的计数，1小时窗口按分钟分桶，24小时和7天窗口按小时分桶
+	 */
+	private static class DishCounter {
+
+		private final SlidingWindowCounter minutes = new SlidingWindowCounter(MINUTE, 60);
+
+		private final SlidingWindowCounter hours = new SlidingWindowCounter(HOUR, 7 * 24);
+
+		synchronized void add(long now, int delta) {
+			minutes.add(now, delta);
+			hours.add(now, delta);
+		}
+
+		synchronized long sum(String window, long now) {
+			if("1h".equals(window)) {
+				return minutes.sum(now, 60);
+			} else if("24h".equals(window)) {
+				return hours.sum(now, 24);
+			} else if("7d".equals(window)) {
+				return hours.sum(now, 7 * 24);
+			}
+			throw new EIException("不支持的统计窗口: " + window);
+		}
+
+		synchronized long lastTime() {
+			return hours.lastTime();
+		}
+	}
+}
@@ -0,0 +1,115 @@
+package com.service.impl;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import com.entity.TokenEntity;
+import com.service.TokenStore;
+import com.utils.CacheStats;
+
+/**
+ * 内存存储，仅适用于单节点部署，重启后token失效
+ */
+@Component
+@ConditionalOnProperty(name = "token.store", havingValue = "memory")
+public class MemoryTokenStore implements TokenStore {
+
+	/**
+	 * token -> TokenEntity
+	 */
+	protected final Map<String, TokenEntity> tokens = new ConcurrentHashMap<String, TokenEntity>();
+
+	/**
+	 * userid:role -> TokenEntity
+	 */
+	protected final Map<String, TokenEntity> users = new ConcurrentHashMap<String, TokenEntity>();
+
+	protected final AtomicLong idGenerator = new AtomicLong();
+
+	private final CacheStats stats = new CacheStats();
+
+	@Override
+	public TokenEntity findByToken(String token) {
+		long start = System.nanoTime();
+		TokenEntity tokenEntity = tokens.get(token);
+		stats.record(tokenEntity != null, start);
+		return tokenEntity;
+	}
+
+	@Override
+	public synchronized void save(TokenEntity tokenEntity) {
+		if(tokenEntity.getId() == null) {
+			TokenEntity previous = users.get(userKey(tokenEntity.getUserid(), tokenEntity.getRole()));
+			tokenEntity.setId(previous != null ? previous.getId() : idGenerator.incrementAndGet());
+		}
+		put(tokenEntity);
+	}
+
+	@Override
+	public synchronized void remove(String token) {
+		TokenEntity tokenEntity = tokens.remove(token);
+		if(tokenEntity != null) {
+			users.remove(userKey(tokenEntity.getUserid(), tokenEntity.getRole()), tokenEntity);
+		}
+	}
+
+	@Override
+	public synchronized void renew(List<TokenEntity> tokenEntities) {
+		for(TokenEntity renewal : tokenEntities) {
+			TokenEntity tokenEntity = tokens.get(renewal.getToken());
+			if(tokenEntity != null) {
+				tokenEntity.setExpiratedtime(renewal.getExpiratedtime());
+			}
+		}
+	}
+
+	@Override
+	public synchronized int purgeExpired(int batchSize) {
+		long now = System.currentTimeMillis();
+		List<String> expired = new ArrayList<String>();
+		for(TokenEntity tokenEntity : tokens.values()) {
+			if(expired.size() >= batchSize) {
+				break;
+			}
+			if(tokenEntity.getExpiratedtime() != null && tokenEntity.getExpiratedtime().getTime() < now) {
+				expired.add(tokenEntity.getToken());
+			}
+		}
+		for(String token : expired) {
+			remove(token);
+		}
+		return expired.size();
+	}
+
+	@Override
+	public Map<String, Object> stats() {
+		Map<String, Object> map = stats.toMap();
+		map.put("store", "memory");
+		map.put("size", tokens.size());
+		return map;
+	}
+
+	/**
+	 * 写入索引，替换同一用户的旧token
+	 */
+	protected void put(TokenEntity tokenEntity) {
+		TokenEntity previous = users.put(userKey(tokenEntity.getUserid(), tokenEntity.getRole()), tokenEntity);
+		if(previous != null && !previous.getToken().equals(tokenEntity.getToken())) {
+			tokens.remove(previous.getToken());
+		}
+		tokens.put(tokenEntity.getToken(), tokenEntity);
+		if(tokenEntity.getId() != null && tokenEntity.getId() > idGenerator.get()) {
+			idGenerator.set(tokenEntity.getId());
+		}
+	}
+
+	protected static String userKey(Long userid, String role) {
+		return userid + ":" + role;
+	}
+}
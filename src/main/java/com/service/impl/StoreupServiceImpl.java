@@ -1,13 +1,16 @@
 package com.service.impl;
 
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import java.util.Map;
 import java.util.List;
 
 import com.baomidou.mybatisplus.mapper.Wrapper;
+import org.apache.ibatis.session.ResultHandler;
 import com.baomidou.mybatisplus.mapper.EntityWrapper;
 import com.baomidou.mybatisplus.plugins.Page;
 import com.baomidou.mybatisplus.service.impl.ServiceImpl;
+import com.utils.PageQueryTemplate;
 import com.utils.PageUtils;
 import com.utils.Query;
 
@@ -21,6 +24,9 @@ import com.entity.view.StoreupView;
 @Service("storeupService")
 public class StoreupServiceImpl extends ServiceImpl<StoreupDao, StoreupEntity> implements StoreupService {
 	
+	@Autowired
+	private PageQueryTemplate pageQueryTemplate;
+	
 	
     @Override
     public PageUtils queryPage(Map<String, Object> params) {
@@ -33,10 +39,7 @@ public class StoreupServiceImpl extends ServiceImpl<StoreupDao, StoreupEntity> i
     
     @Override
 	public PageUtils queryPage(Map<String, Object> params, Wrapper<StoreupEntity> wrapper) {
-		  Page<StoreupView> page =new Query<StoreupView>(params).getPage();
-	        page.setRecords(baseMapper.selectListView(page,wrapper));
-	    	PageUtils pageUtil = new PageUtils(page);
-	    	return pageUtil;
+		return pageQueryTemplate.queryPage(StoreupEntity.class, baseMapper, params, wrapper, baseMapper::selectListView);
  	}
     
     @Override
@@ -54,6 +57,11 @@ public class StoreupServiceImpl extends ServiceImpl<StoreupDao, StoreupEntity> i
 		return baseMapper.selectListView(wrapper);
 	}
 
+	@Override
+	public void selectListView(Wrapper<StoreupEntity> wrapper, ResultHandler<? super StoreupView> handler) {
+		baseMapper.streamListView(wrapper, handler);
+	}
+
 	@Override
 	public StoreupView selectView(Wrapper<StoreupEntity> wrapper) {
 		return baseMapper.selectView(wrapper);
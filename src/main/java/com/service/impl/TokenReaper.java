@@ -0,0 +1,85 @@
+package com.service.impl;
+
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.service.TokenService;
+import com.service.TokenStore;
+
+/**
+ * 定时分批清理过期token
+ */
+@Component
+public class TokenReaper {
+
+	@Autowired
+	private TokenStore tokenStore;
+
+	@Autowired
+	private TokenService tokenService;
+
+	/**
+	 * 每批删除条数
+	 */
+	@Value("${token.reaper.batch-size:500}")
+	private int batchSize;
+
+	/**
+	 * 批次间隔(毫秒)，给其他事务让出锁
+	 */
+	@Value("${token.reaper.pause:50}")
+	private long pause;
+
+	private final AtomicLong runs = new AtomicLong();
+
+	private final AtomicLong totalDeleted = new AtomicLong();
+
+	private volatile long lastDeleted;
+
+	private volatile long lastMillis;
+
+	private volatile Date lastRunTime;
+
+	@Scheduled(initialDelayString = "${token.reaper.interval:600000}", fixedDelayString = "${token.reaper.interval:600000}")
+	public void purge() {
+		long start = System.currentTimeMillis();
+		long deleted = 0;
+		int count;
+		//先写回内存中的续期，避免刚续期的token被当作过期删除
+		tokenService.flushRenewals();
+		do {
+			count = tokenStore.purgeExpired(batchSize);
+			deleted += count;
+			if(count >= batchSize && pause > 0) {
+				try {
+					Thread.sleep(pause);
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+					break;
+				}
+			}
+		} while(count >= batchSize);
+		runs.incrementAndGet();
+		totalDeleted.addAndGet(deleted);
+		lastDeleted = deleted;
+		lastMillis = System.currentTimeMillis() - start;
+		lastRunTime = new Date(start);
+	}
+
+	public Map<String, Object> stats() {
+		Map<String, Object> map = new LinkedHashMap<String, Object>();
+		map.put("runs", runs.get());
+		map.put("totalDeleted", totalDeleted.get());
+		map.put("lastDeleted", lastDeleted);
+		map.put("lastMillis", lastMillis);
+		map.put("lastRunTime", lastRunTime);
+		return map;
+	}
+}
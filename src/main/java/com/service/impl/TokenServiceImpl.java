@@ -2,11 +2,23 @@
 package com.service.impl;
 
 
+import java.util.ArrayList;
 import java.util.Calendar;
 import java.util.Date;
 import java.util.List;
+import java.util.Iterator;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+
+import org.apache.commons.lang3.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
 import com.baomidou.mybatisplus.mapper.EntityWrapper;
@@ -17,9 +29,12 @@ import com.dao.TokenDao;
 import com.entity.TokenEntity;
 import com.entity.TokenEntity;
 import com.service.TokenService;
+import com.service.TokenStore;
 import com.utils.CommonUtil;
+import com.utils.LruCache;
 import com.utils.PageUtils;
 import com.utils.Query;
+import com.utils.SignedTokenUtil;
 
 
 /**
@@ -28,6 +43,81 @@ import com.utils.Query;
 @Service("tokenService")
 public class TokenServiceImpl extends ServiceImpl<TokenDao, TokenEntity> implements TokenService {
 
+	private static final Logger logger = LoggerFactory.getLogger(TokenServiceImpl.class);
+
+	/**
+	 * token有效期
+	 */
+	private static final long TOKEN_EXPIRE_MILLIS = 60 * 60 * 1000L;
+
+	/**
+	 * 续期批量写回时每条UPDATE包含的token数
+	 */
+	private static final int RENEW_BATCH_SIZE = 500;
+
+	/**
+	 * token缓存最大条目数
+	 */
+	@Value("${token.cache.size:10000}")
+	private int cacheSize;
+
+	/**
+	 * token缓存存活时间(秒)，多节点部署时决定旧token在其他节点上的最长残留时间
+	 */
+	@Value("${token.cache.ttl:300}")
+	private long cacheTtl;
+
+	/**
+	 * token格式 random:随机字符串(存token表) signed:签名token(不落库)
+	 */
+	@Value("${token.mode:random}")
+	private String mode;
+
+	/**
+	 * 签名token密钥，多节点部署时各节点需一致
+	 */
+	@Value("${token.secret:}")
+	private String secret;
+
+	/**
+	 * 是否滑动过期：活跃token剩余有效期不足一半时自动续期，签名token自带过期时间不参与续期
+	 */
+	@Value("${token.sliding:true}")
+	private boolean sliding;
+
+	@Autowired
+	private TokenStore tokenStore;
+
+	private LruCache<String, TokenEntity> tokenCache;
+
+	/**
+	 * userid:role -> 已缓存的token，用于重新登录时使旧token缓存失效
+	 */
+	private LruCache<String, String> userTokens;
+
+	private SignedTokenUtil signedTokenUtil;
+
+	/**
+	 * 已注销的签名token及其过期时间
+	 */
+	private final Map<String, Long> revokedTokens = new ConcurrentHashMap<String, Long>();
+
+	/**
+	 * 待写回的续期 token -> 新过期时间，同一token多次续期只保留最后一次
+	 */
+	private final Map<String, Date> pendingRenewals = new ConcurrentHashMap<String, Date>();
+
+	@PostConstruct
+	public void init() {
+		tokenCache = new LruCache<String, TokenEntity>(cacheSize, cacheTtl * 1000);
+		userTokens = new LruCache<String, String>(cacheSize, cacheTtl * 1000);
+		if(StringUtils.isNotBlank(secret)) {
+			signedTokenUtil = new SignedTokenUtil(secret);
+		} else if("signed".equals(mode)) {
+			throw new IllegalStateException("token.mode为signed时必须配置token.secret");
+		}
+	}
+
 	@Override
 	public PageUtils queryPage(Map<String, Object> params) {
 		Page<TokenEntity> page = this.selectPage(
@@ -53,27 +143,163 @@ public class TokenServiceImpl extends ServiceImpl<TokenDao, TokenEntity> impleme
 
 	@Override
 	public String generateToken(Long userid,String username, String tableName, String role) {
-		TokenEntity tokenEntity = this.selectOne(new EntityWrapper<TokenEntity>().eq("userid", userid).eq("role", role));
-		String token = CommonUtil.getRandomString(32);
 		Calendar cal = Calendar.getInstance();   
     	cal.setTime(new Date());   
-    	cal.add(Calendar.HOUR_OF_DAY, 1);
-		if(tokenEntity!=null) {
-			tokenEntity.setToken(token);
-			tokenEntity.setExpiratedtime(cal.getTime());
-			this.updateById(tokenEntity);
-		} else {
-			this.insert(new TokenEntity(userid,username, tableName, role, token, cal.getTime()));
+    	cal.add(Calendar.MILLISECOND, (int) TOKEN_EXPIRE_MILLIS);
+		if("signed".equals(mode)) {
+			return signedTokenUtil.sign(new TokenEntity(userid, username, tableName, role, null, cal.getTime()));
 		}
+		String token = CommonUtil.getRandomString(32);
+		TokenEntity tokenEntity = new TokenEntity(userid,username, tableName, role, token, cal.getTime());
+		tokenStore.save(tokenEntity);
+		//同一用户重新登录，旧token失效
+		String previous = userTokens.get(userKey(userid, role));
+		if(previous != null) {
+			tokenCache.remove(previous);
+		}
+		cacheToken(tokenEntity);
 		return token;
 	}
 
 	@Override
 	public TokenEntity getTokenEntity(String token) {
-		TokenEntity tokenEntity = this.selectOne(new EntityWrapper<TokenEntity>().eq("token", token));
+		if(SignedTokenUtil.isSigned(token)) {
+			return getSignedTokenEntity(token);
+		}
+		TokenEntity tokenEntity = tokenCache.get(token);
+		if(tokenEntity == null) {
+			tokenEntity = tokenStore.findByToken(token);
+			if(tokenEntity != null) {
+				cacheToken(tokenEntity);
+			}
+		}
 		if(tokenEntity == null || tokenEntity.getExpiratedtime().getTime()<new Date().getTime()) {
 			return null;
 		}
+		if(sliding) {
+			renew(tokenEntity);
+		}
+		return tokenEntity;
+	}
+
+	/**
+	 * 剩余有效期不足一半时续期，只更新内存，由flushRenewals定时批量写回
+	 */
+	private void renew(TokenEntity tokenEntity) {
+		long now = System.currentTimeMillis();
+		if(tokenEntity.getExpiratedtime().getTime() - now > TOKEN_EXPIRE_MILLIS / 2) {
+			return;
+		}
+		Date expiratedtime = new Date(now + TOKEN_EXPIRE_MILLIS);
+		tokenEntity.setExpiratedtime(expiratedtime);
+		cacheToken(tokenEntity);
+		pendingRenewals.put(tokenEntity.getToken(), expiratedtime);
+	}
+
+	@Override
+	@Scheduled(fixedDelayString = "${token.sliding-flush-interval:30000}")
+	@PreDestroy
+	public void flushRenewals() {
+		if(pendingRenewals.isEmpty()) {
+			return;
+		}
+		List<TokenEntity> batch = new ArrayList<TokenEntity>();
+		for(String token : new ArrayList<String>(pendingRenewals.keySet())) {
+			Date expiratedtime = pendingRenewals.remove(token);
+			if(expiratedtime != null) {
+				TokenEntity tokenEntity = new TokenEntity();
+				tokenEntity.setToken(token);
+				tokenEntity.setExpiratedtime(expiratedtime);
+				batch.add(tokenEntity);
+			}
+			if(batch.size() >= RENEW_BATCH_SIZE) {
+				writeRenewals(batch);
+				batch = new ArrayList<TokenEntity>();
+			}
+		}
+		if(!batch.isEmpty()) {
+			writeRenewals(batch);
+		}
+	}
+
+	/**
+	 * 写回一批续期，失败时放回待写回队列，不影响其他批次
+	 */
+	private void writeRenewals(List<TokenEntity> batch) {
+		try {
+			tokenStore.renew(batch);
+		} catch (RuntimeException e) {
+			for(TokenEntity tokenEntity : batch) {
+				//期间同一token再次续期的，保留更晚的过期时间
+				pendingRenewals.putIfAbsent(tokenEntity.getToken(), tokenEntity.getExpiratedtime());
+			}
+			logger.warn("token续期写回失败，{}条记录下次重试", batch.size(), e);
+		}
+	}
+
+	@Override
+	public Map<String, Object> stats() {
+		Map<String, Object> stats = tokenStore.stats();
+		stats.put("cacheSize", tokenCache.size());
+		stats.put("revoked", revokedTokens.size());
+		stats.put("pendingRenewals", pendingRenewals.size());
+		return stats;
+	}
+
+	@Override
+	public void revokeToken(String token) {
+		if(StringUtils.isBlank(token)) {
+			return;
+		}
+		if(SignedTokenUtil.isSigned(token)) {
+			TokenEntity tokenEntity = getSignedTokenEntity(token);
+			if(tokenEntity != null) {
+				purgeRevokedTokens();
+				revokedTokens.put(token, tokenEntity.getExpiratedtime().getTime());
+			}
+			return;
+		}
+		tokenCache.remove(token);
+		tokenStore.remove(token);
+	}
+
+	/**
+	 * 校验签名token，只做CPU计算，不访问token表
+	 */
+	private TokenEntity getSignedTokenEntity(String token) {
+		if(signedTokenUtil == null || revokedTokens.containsKey(token)) {
+			return null;
+		}
+		TokenEntity tokenEntity = signedTokenUtil.verify(token);
+		if(tokenEntity == null || tokenEntity.getExpiratedtime().getTime()<System.currentTimeMillis()) {
+			return null;
+		}
 		return tokenEntity;
 	}
+
+	/**
+	 * 清理已自然过期的注销记录，注销列表只需保留到token过期
+	 */
+	private void purgeRevokedTokens() {
+		long now = System.currentTimeMillis();
+		Iterator<Map.Entry<String, Long>> it = revokedTokens.entrySet().iterator();
+		while(it.hasNext()) {
+			if(it.next().getValue() < now) {
+				it.remove();
+			}
+		}
+	}
+
+	/**
+	 * 缓存token，缓存过期时间不晚于token本身的过期时间
+	 */
+	private void cacheToken(TokenEntity tokenEntity) {
+		long expireAt = tokenEntity.getExpiratedtime().getTime();
+		tokenCache.put(tokenEntity.getToken(), tokenEntity, expireAt);
+		userTokens.put(userKey(tokenEntity.getUserid(), tokenEntity.getRole()), tokenEntity.getToken(), expireAt);
+	}
+
+	private static String userKey(Long userid, String role) {
+		return userid + ":" + role;
+	}
 }
@@ -5,6 +5,7 @@ package com.service.impl;
 import java.util.List;
 import java.util.Map;
 
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
 import com.baomidou.mybatisplus.mapper.EntityWrapper;
@@ -14,8 +15,10 @@ import com.baomidou.mybatisplus.service.impl.ServiceImpl;
 import com.dao.UserDao;
 import com.entity.UserEntity;
 import com.service.UserService;
+import com.utils.PageQueryTemplate;
 import com.utils.PageUtils;
 import com.utils.Query;
+import com.utils.SessionCache;
 
 
 /**
@@ -23,6 +26,27 @@ import com.utils.Query;
  */
 @Service("userService")
 public class UserServiceImpl extends ServiceImpl<UserDao, UserEntity> implements UserService {
+	
+	@Autowired
+	private PageQueryTemplate pageQueryTemplate;
+
+	@Autowired
+	private SessionCache sessionCache;
+
+	/**
+	 * 缓存和返回的账号都不包含密码
+	 */
+	@Override
+	public UserEntity selectSessionById(Long id) {
+		return sessionCache.get("users", id, key -> {
+			UserEntity user = this.selectById(key);
+			if(user != null) {
+				user.setPassword(null);
+			}
+			return user;
+		});
+	}
+
 
 	@Override
 	public PageUtils queryPage(Map<String, Object> params) {
@@ -41,9 +65,6 @@ public class UserServiceImpl extends ServiceImpl<UserDao, UserEntity> implements
 	@Override
 	public PageUtils queryPage(Map<String, Object> params,
 			Wrapper<UserEntity> wrapper) {
-		 Page<UserEntity> page =new Query<UserEntity>(params).getPage();
-	        page.setRecords(baseMapper.selectListView(page,wrapper));
-	    	PageUtils pageUtil = new PageUtils(page);
-	    	return pageUtil;
+		return pageQueryTemplate.queryPage(UserEntity.class, baseMapper, params, wrapper, baseMapper::selectListView);
 	}
 }
@@ -1,15 +1,19 @@
 package com.service.impl;
 
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import java.util.Map;
 import java.util.List;
 
 import com.baomidou.mybatisplus.mapper.Wrapper;
+import org.apache.ibatis.session.ResultHandler;
 import com.baomidou.mybatisplus.mapper.EntityWrapper;
 import com.baomidou.mybatisplus.plugins.Page;
 import com.baomidou.mybatisplus.service.impl.ServiceImpl;
+import com.utils.PageQueryTemplate;
 import com.utils.PageUtils;
 import com.utils.Query;
+import com.utils.SessionCache;
 
 
 import com.dao.YonghuDao;
@@ -21,6 +25,27 @@ import com.entity.view.YonghuView;
 @Service("yonghuService")
 public class YonghuServiceImpl extends ServiceImpl<YonghuDao, YonghuEntity> implements YonghuService {
 	
+	@Autowired
+	private PageQueryTemplate pageQueryTemplate;
+
+	@Autowired
+	private SessionCache sessionCache;
+
+	/**
+	 * 缓存和返回的账号都不包含密码
+	 */
+	@Override
+	public YonghuEntity selectSessionById(Long id) {
+		return sessionCache.get("yonghu", id, key -> {
+			YonghuEntity yonghu = this.selectById(key);
+			if(yonghu != null) {
+				yonghu.setMima(null);
+			}
+			return yonghu;
+		});
+	}
+
+	
 	
     @Override
     public PageUtils queryPage(Map<String, Object> params) {
@@ -33,10 +58,7 @@ public class YonghuServiceImpl extends ServiceImpl<YonghuDao, YonghuEntity> impl
     
     @Override
 	public PageUtils queryPage(Map<String, Object> params, Wrapper<YonghuEntity> wrapper) {
-		  Page<YonghuView> page =new Query<YonghuView>(params).getPage();
-	        page.setRecords(baseMapper.selectListView(page,wrapper));
-	    	PageUtils pageUtil = new PageUtils(page);
-	    	return pageUtil;
+		return pageQueryTemplate.queryPage(YonghuEntity.class, baseMapper, params, wrapper, baseMapper::selectListView);
  	}
     
     @Override
@@ -54,6 +76,11 @@ public class YonghuServiceImpl extends ServiceImpl<YonghuDao, YonghuEntity> impl
 		return baseMapper.selectListView(wrapper);
 	}
 
+	@Override
+	public void selectListView(Wrapper<YonghuEntity> wrapper, ResultHandler<? super YonghuView> handler) {
+		baseMapper.streamListView(wrapper, handler);
+	}
+
 	@Override
 	public YonghuView selectView(Wrapper<YonghuEntity> wrapper) {
 		return baseMapper.selectView(wrapper);
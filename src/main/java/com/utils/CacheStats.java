@@ -0,0 +1,51 @@
+package com.utils;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 命中/未命中/耗时计数
+ */
+public class CacheStats {
+
+	private final LongAdder hits = new LongAdder();
+
+	private final LongAdder misses = new LongAdder();
+
+	private final LongAdder totalNanos = new LongAdder();
+
+	/**
+	 * 记录一次查询
+	 * @param hit        是否命中
+	 * @param startNanos 开始时间(System.nanoTime())
+	 */
+	public void record(boolean hit, long startNanos) {
+		if(hit) {
+			hits.increment();
+		} else {
+			misses.increment();
+		}
+		totalNanos.add(System.nanoTime() - startNanos);
+	}
+
+	public long getHits() {
+		return hits.sum();
+	}
+
+	public long getMisses() {
+		return misses.sum();
+	}
+
+	public Map<String, Object> toMap() {
+		long h = hits.sum();
+		long m = misses.sum();
+		long total = h + m;
+		Map<String, Object> map = new LinkedHashMap<String, Object>();
+		map.put("hits", h);
+		map.put("misses", m);
+		map.put("hitRatio", total == 0 ? 0 : (double) h / total);
+		map.put("avgMicros", total == 0 ? 0 : totalNanos.sum() / total / 1000);
+		return map;
+	}
+}
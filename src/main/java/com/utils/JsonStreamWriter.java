@@ -0,0 +1,97 @@
+package com.utils;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+import javax.servlet.http.HttpServletResponse;
+
+import org.apache.ibatis.session.ResultHandler;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+/**
+ * 流式输出列表
+ * 数据库逐行读取，每行直接序列化写入响应，结果集再大也不会整体放进内存。
+ * 输出格式与R.ok().put("data", list)相同
+ */
+@Component
+public class JsonStreamWriter {
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	/**
+	 * 逐行查询，一般为service的selectListView(Wrapper, ResultHandler)
+	 */
+	public interface RowSource<T> {
+		void fetch(ResultHandler<T> handler);
+	}
+
+	/**
+	 * 查询中途出错时：响应还没有提交(已写内容仍在缓冲中)则清空缓冲，异常继续抛出，由容器按普通错误返回；
+	 * 已经提交则只能截断，不补全括号，客户端得到的是不完整的JSON而不是看似完整的部分列表
+	 */
+	public <T> void writeList(HttpServletResponse response, RowSource<T> source) throws IOException {
+		response.setContentType("application/json;charset=UTF-8");
+		JsonGenerator generator = objectMapper.getFactory().createGenerator(response.getOutputStream(), JsonEncoding.UTF8);
+		//默认每写一个值就flush一次，会逐行提交响应，改为缓冲满了再写出
+		ObjectWriter rowWriter = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+		boolean completed = false;
+		try {
+			generator.writeStartObject();
+			generator.writeNumberField("code", 0);
+			generator.writeArrayFieldStart("data");
+			source.fetch(context -> {
+				try {
+					rowWriter.writeValue(generator, context.getResultObject());
+				} catch (IOException e) {
+					throw new UncheckedIOException(e);
+				}
+			});
+			generator.writeEndArray();
+			generator.writeEndObject();
+			completed = true;
+		} catch (RuntimeException e) {
+			//handler中的异常被MyBatis包装为PersistenceException，再被转换为MyBatisSystemException
+			IOException cause = ioException(e);
+			if(cause != null) {
+				throw cause;
+			}
+			throw e;
+		} finally {
+			if(completed) {
+				generator.close();
+			} else {
+				abort(response, generator);
+			}
+		}
+	}
+
+	private static IOException ioException(Throwable e) {
+		for(Throwable cause = e; cause != null; cause = cause.getCause()) {
+			if(cause instanceof UncheckedIOException) {
+				return ((UncheckedIOException) cause).getCause();
+			}
+		}
+		return null;
+	}
+
+	private static void abort(HttpServletResponse response, JsonGenerator generator) {
+		if(!response.isCommitted()) {
+			response.resetBuffer();
+			return;
+		}
+		generator.disable(JsonGenerator.Feature.AUTO_CLOSE_JSON_CONTENT);
+		try {
+			generator.close();
+		} catch (IOException e) {
+			//连接已断开，保留原来的异常
+		}
+	}
+}
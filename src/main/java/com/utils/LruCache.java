@@ -0,0 +1,95 @@
+package com.utils;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 有界LRU缓存
+ * 超过容量时淘汰最久未访问的条目，每个条目带有过期时间
+ */
+public class LruCache<K, V> {
+
+	private final int maxSize;
+
+	private final long ttlMillis;
+
+	private final LinkedHashMap<K, CacheEntry<V>> map;
+
+	/**
+	 * @param maxSize   最大条目数
+	 * @param ttlMillis 默认存活时间(毫秒)
+	 */
+	public LruCache(final int maxSize, long ttlMillis) {
+		this.maxSize = maxSize;
+		this.ttlMillis = ttlMillis;
+		this.map = new LinkedHashMap<K, CacheEntry<V>>(16, 0.75f, true) {
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<K, CacheEntry<V>> eldest) {
+				return size() > LruCache.this.maxSize;
+			}
+		};
+	}
+
+	public synchronized V get(K key) {
+		CacheEntry<V> entry = map.get(key);
+		if(entry == null) {
+			return null;
+		}
+		if(entry.expireAt < System.currentTimeMillis()) {
+			map.remove(key);
+			return null;
+		}
+		return entry.value;
+	}
+
+	public void put(K key, V value) {
+		put(key, value, System.currentTimeMillis() + ttlMillis);
+	}
+
+	/**
+	 * 放入缓存，过期时间取expireAt与默认存活时间中较早者
+	 */
+	public synchronized void put(K key, V value, long expireAt) {
+		long deadline = Math.min(expireAt, System.currentTimeMillis() + ttlMillis);
+		map.put(key, new CacheEntry<V>(value, deadline));
+	}
+
+	public synchronized V remove(K key) {
+		CacheEntry<V> entry = map.remove(key);
+		return entry == null ? null : entry.value;
+	}
+
+	public synchronized void clear() {
+		map.clear();
+	}
+
+	public synchronized int size() {
+		return map.size();
+	}
+
+	/**
+	 * 清理已过期条目
+	 */
+	public synchronized void evictExpired() {
+		long now = System.currentTimeMillis();
+		Iterator<CacheEntry<V>> it = map.values().iterator();
+		while(it.hasNext()) {
+			if(it.next().expireAt < now) {
+				it.remove();
+			}
+		}
+	}
+
+	private static class CacheEntry<V> {
+		final V value;
+		final long expireAt;
+
+		CacheEntry(V value, long expireAt) {
+			this.value = value;
+			this.expireAt = expireAt;
+		}
+	}
+}
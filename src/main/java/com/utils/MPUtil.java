@@ -1,45 +1,84 @@
 package com.utils;
 
+import java.beans.IntrospectionException;
+import java.beans.Introspector;
+import java.beans.PropertyDescriptor;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.apache.commons.lang3.StringUtils;
 
-import cn.hutool.core.bean.BeanUtil;
-
 import com.baomidou.mybatisplus.mapper.Wrapper;
 
 /**
  * Mybatis-Plus工具类
+ * 实体属性的读取方法和对应列名按类缓存，生成查询条件时不再每次反射和转换列名
  */
 public class MPUtil {
 	public static final char UNDERLINE = '_';
 
+	private static final ClassValue<BeanProperties> PROPERTIES = new ClassValue<BeanProperties>() {
+		@Override
+		protected BeanProperties computeValue(Class<?> type) {
+			return new BeanProperties(type);
+		}
+	};
+
+	/**
+	 * 实体类的属性名 -> 列名
+	 */
+	public static Map<String, String> columns(Class<?> type) {
+		return PROPERTIES.get(type).columnMap;
+	}
+
+	/**
+	 * 按列名读取实体属性值，没有对应属性时返回null
+	 */
+	public static Object value(Object bean, String column) {
+		BeanProperties properties = PROPERTIES.get(bean.getClass());
+		Integer index = properties.columnIndex.get(column.toLowerCase());
+		return index != null ? properties.get(bean, index) : null;
+	}
 	
 	//mybatis plus allEQ 表达式转换
 		public static Map allEQMapPre(Object bean,String pre) {
-		   Map<String, Object> map =BeanUtil.beanToMap(bean);
-		  return camelToUnderlineMap(map,pre);
+		   return PROPERTIES.get(bean.getClass()).toMap(bean, pre, false);
 	   }
 
 		//mybatis plus allEQ 表达式转换
 		public static Map allEQMap(Object bean) {
-		   Map<String, Object> map =BeanUtil.beanToMap(bean);
-		   return camelToUnderlineMap(map,"");
+		   return PROPERTIES.get(bean.getClass()).toMap(bean, "", false);
 	   }
 
 		public static Wrapper allLikePre(Wrapper wrapper,Object bean,String pre) {
-			   Map<String, Object> map =BeanUtil.beanToMap(bean);
-			   Map result = camelToUnderlineMap(map,pre);
+			   Map result = PROPERTIES.get(bean.getClass()).toMap(bean, pre, false);
 			 
 			return genLike(wrapper,result);
 		}
 	
 		public static Wrapper allLike(Wrapper wrapper,Object bean) {
-			  Map result = BeanUtil.beanToMap(bean, true, true);			 
-			return genLike(wrapper,result);
+			BeanProperties properties = PROPERTIES.get(bean.getClass());
+			int i=0;
+			for(int p = 0; p < properties.size(); p++) {
+				Object value = properties.get(bean, p);
+				if(value == null) {
+					continue;
+				}
+				if(i>0) wrapper.and();
+				wrapper.like(properties.column(p), (String) value);
+				i++;
+			}
+			return wrapper;
 		}
 	
 	
@@ -58,8 +97,23 @@ public class MPUtil {
 		}
 		
 		public static Wrapper likeOrEq(Wrapper wrapper,Object bean) {
-			  Map result = BeanUtil.beanToMap(bean, true, true);			 
-			return genLikeOrEq(wrapper,result);
+			BeanProperties properties = PROPERTIES.get(bean.getClass());
+			int i=0;
+			for(int p = 0; p < properties.size(); p++) {
+				Object value = properties.get(bean, p);
+				if(value == null) {
+					continue;
+				}
+				if(i>0) wrapper.and();
+				String text = value.toString();
+				if(text.contains("%")) {
+					wrapper.like(properties.column(p), text.replace("%", ""));
+				} else {
+					wrapper.eq(properties.column(p), value);
+				}
+				i++;
+			}
+			return wrapper;
 		}
 		
 		public static Wrapper genLikeOrEq( Wrapper wrapper,Map param) {
@@ -80,7 +134,7 @@ public class MPUtil {
 		}
 		
 		public static Wrapper allEq(Wrapper wrapper,Object bean) {
-			  Map result = BeanUtil.beanToMap(bean, true, true);			 
+			  Map result = PROPERTIES.get(bean.getClass()).toMap(bean, "", true);
 			return genEq(wrapper,result);
 		}
 	
@@ -181,4 +235,99 @@ public class MPUtil {
 		}
 		return newMap;
 	}
+
+	/**
+	 * 单个实体类的可读属性，列名及带前缀的列名只计算一次
+	 */
+	private static class BeanProperties {
+
+		private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+
+		private final MethodHandle[] getters;
+
+		private final String[] columns;
+
+		private final Map<String, String> columnMap;
+
+		/**
+		 * 小写列名 -> 属性下标
+		 */
+		private final Map<String, Integer> columnIndex = new HashMap<String, Integer>();
+
+		/**
+		 * 前缀 -> 带前缀的列名
+		 */
+		private final Map<String, String[]> prefixedColumns = new ConcurrentHashMap<String, String[]>();
+
+		BeanProperties(Class<?> type) {
+			List<MethodHandle> getterList = new ArrayList<MethodHandle>();
+			List<String> columnList = new ArrayList<String>();
+			Map<String, String> nameToColumn = new LinkedHashMap<String, String>();
+			try {
+				for(PropertyDescriptor descriptor : Introspector.getBeanInfo(type).getPropertyDescriptors()) {
+					if(descriptor.getReadMethod() == null || "class".equals(descriptor.getName())) {
+						continue;
+					}
+					getterList.add(MethodHandles.publicLookup().unreflect(descriptor.getReadMethod()).asType(GETTER_TYPE));
+					columnList.add(camelToUnderline(descriptor.getName()));
+					nameToColumn.put(descriptor.getName(), camelToUnderline(descriptor.getName()));
+				}
+			} catch (IntrospectionException | IllegalAccessException e) {
+				throw new IllegalStateException("读取实体属性失败: " + type.getName(), e);
+			}
+			getters = getterList.toArray(new MethodHandle[0]);
+			columns = columnList.toArray(new String[0]);
+			columnMap = Collections.unmodifiableMap(nameToColumn);
+			for(int i = 0; i < columns.length; i++) {
+				columnIndex.put(columns[i].toLowerCase(), i);
+			}
+		}
+
+		int size() {
+			return getters.length;
+		}
+
+		String column(int index) {
+			return columns[index];
+		}
+
+		Object get(Object bean, int index) {
+			try {
+				return (Object) getters[index].invokeExact(bean);
+			} catch (RuntimeException | Error e) {
+				throw e;
+			} catch (Throwable e) {
+				throw new IllegalStateException(e);
+			}
+		}
+
+		/**
+		 * 列名 -> 属性值
+		 * @param ignoreNull 是否跳过值为null的属性
+		 */
+		Map<String, Object> toMap(Object bean, String pre, boolean ignoreNull) {
+			String[] keys = prefixedColumns.get(pre);
+			if(keys == null) {
+				keys = new String[columns.length];
+				for(int i = 0; i < columns.length; i++) {
+					if (pre.endsWith(".")) {
+						keys[i] = pre + columns[i];
+					} else if (StringUtils.isEmpty(pre)) {
+						keys[i] = columns[i];
+					} else {
+						keys[i] = pre + "." + columns[i];
+					}
+				}
+				prefixedColumns.put(pre, keys);
+			}
+			Map<String, Object> map = new HashMap<String, Object>(columns.length * 2);
+			for(int i = 0; i < getters.length; i++) {
+				Object value = get(bean, i);
+				if(value != null || !ignoreNull) {
+					map.put(keys[i], value);
+				}
+			}
+			return map;
+		}
+	}
 }
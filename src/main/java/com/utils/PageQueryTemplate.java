@@ -0,0 +1,472 @@
+package com.utils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+
+import org.apache.commons.beanutils.PropertyUtils;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.alibaba.fastjson.JSONObject;
+import com.baomidou.mybatisplus.annotations.TableName;
+import com.baomidou.mybatisplus.mapper.BaseMapper;
+import com.baomidou.mybatisplus.mapper.Wrapper;
+import com.baomidou.mybatisplus.plugins.Page;
+import com.baomidou.mybatisplus.plugins.pagination.Pagination;
+import com.dao.CommonDao;
+import com.entity.EIException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import cn.hutool.core.util.StrUtil;
+
+/**
+ * 分页查询
+ * 各ServiceImpl.queryPage(params, wrapper)的公共实现，支持页码分页和游标分页两种方式。
+ * 请求带cursor参数(首页为空串)时使用游标分页：按排序字段+id定位上一页最后一条记录，
+ * 不使用OFFSET也不统计总数，返回结果中的nextCursor用于请求下一页；排序字段有(排序字段,id)索引时翻到多深的页耗时都一样，
+ * 否则仍需对筛选结果排序(db.sql中为订单和评价的时间字段建了索引)。
+ * 页码分页的总数按表名+条件+参数缓存，表版本号变化(有写操作)后失效；
+ * 请求带approxTotal=true且没有筛选条件时，大表直接使用表统计信息中的估算行数。
+ * fields参数指定返回的字段(逗号分隔，-开头表示排除，*表示全部)，只查询这些列，返回的记录中也只包含这些字段。
+ * 配置的表(匿名访问较多的前端列表)缓存整页查询结果，同样以表版本号失效。
+ * 开启page.parallel-count后，需要统计总数时COUNT和分页查询在线程池中并行执行，各自使用连接池中的连接。
+ */
+@Component
+public class PageQueryTemplate {
+
+	public static final String CURSOR = "cursor";
+
+	public static final String FIELDS = "fields";
+
+	private static final Pattern COLUMN = Pattern.compile("[A-Za-z_][A-Za-z0-9_]*");
+
+	private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+
+	private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+	private static final Pattern ORDER_BY = Pattern.compile("\\s*ORDER\\s+BY\\s+.*$", Pattern.CASE_INSENSITIVE | Pattern.DOTALL);
+
+	@Autowired
+	private TableVersions tableVersions;
+
+	@Autowired
+	private CommonDao commonDao;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	/**
+	 * 总数缓存最大条目数
+	 */
+	@Value("${page.count-cache.size:2000}")
+	private int countCacheSize;
+
+	/**
+	 * 总数缓存存活时间(秒)，用于兜底其他节点的写操作
+	 */
+	@Value("${page.count-cache.ttl:60}")
+	private long countCacheTtl;
+
+	/**
+	 * 估算行数不低于该值时approxTotal才生效，小表仍然精确统计
+	 */
+	@Value("${page.approx-min-rows:100000}")
+	private long approxMinRows;
+
+	/**
+	 * 缓存整页结果的表
+	 */
+	@Value("${page.result-cache.tables:meishixinxi,meishidian,news,meishifenlei}")
+	private String[] resultCacheTables;
+
+	@Value("${page.result-cache.size:1000}")
+	private int resultCacheSize;
+
+	@Value("${page.result-cache.ttl:30}")
+	private long resultCacheTtl;
+
+	/**
+	 * 游标分页每页最多条数
+	 */
+	@Value("${page.cursor.max-limit:1000}")
+	private int cursorMaxLimit;
+
+	/**
+	 * 是否并行执行COUNT和分页查询，每个请求会同时占用两个数据库连接
+	 */
+	@Value("${page.parallel-count.enabled:false}")
+	private boolean parallelCount;
+
+	/**
+	 * 执行COUNT的线程数，队列满时在请求线程中顺序执行
+	 */
+	@Value("${page.parallel-count.threads:4}")
+	private int parallelCountThreads;
+
+	@Value("${page.parallel-count.queue-size:100}")
+	private int parallelCountQueueSize;
+
+	private ThreadPoolExecutor countExecutor;
+
+	private LruCache<String, Long> countCache;
+
+	private final CacheStats countStats = new CacheStats();
+
+	private Set<String> resultTables;
+
+	private LruCache<String, PageUtils> resultCache;
+
+	private final CacheStats resultStats = new CacheStats();
+
+	/**
+	 * 分页查询方法，一般为dao的selectListView(Pagination, Wrapper)
+	 */
+	public interface PageSelector<E, T> {
+		List<T> select(Pagination page, Wrapper<E> wrapper);
+	}
+
+	@PostConstruct
+	public void init() {
+		countCache = new LruCache<String, Long>(countCacheSize, countCacheTtl * 1000);
+		resultTables = new LinkedHashSet<String>(Arrays.asList(resultCacheTables));
+		resultCache = new LruCache<String, PageUtils>(resultCacheSize, resultCacheTtl * 1000);
+		if(parallelCount) {
+			final AtomicInteger threadNumber = new AtomicInteger();
+			countExecutor = new ThreadPoolExecutor(parallelCountThreads, parallelCountThreads, 60, TimeUnit.SECONDS,
+					new LinkedBlockingQueue<Runnable>(parallelCountQueueSize), r -> {
+						Thread thread = new Thread(r, "page-count-" + threadNumber.incrementAndGet());
+						thread.setDaemon(true);
+						return thread;
+					}, new ThreadPoolExecutor.CallerRunsPolicy());
+			countExecutor.allowCoreThreadTimeOut(true);
+		}
+	}
+
+	@PreDestroy
+	public void destroy() {
+		if(countExecutor != null) {
+			countExecutor.shutdown();
+		}
+	}
+
+	/**
+	 * @param entityClass 实体类，用于确定表名和可查询的字段
+	 * @param mapper      实体的dao，用于统计总数
+	 */
+	public <E, T> PageUtils queryPage(Class<E> entityClass, BaseMapper<E> mapper, Map<String, Object> params, Wrapper<E> wrapper,
+			PageSelector<E, T> selector) {
+		return queryPage(entityClass, mapper, params, wrapper, selector, null);
+	}
+
+	/**
+	 * @param decorator 返回前对每条记录的处理，返回值替换原记录，可以为null
+	 */
+	public <E, T> PageUtils queryPage(Class<E> entityClass, BaseMapper<E> mapper, Map<String, Object> params, Wrapper<E> wrapper,
+			PageSelector<E, T> selector, Function<T, ?> decorator) {
+		Set<String> fields = fields(entityClass, params);
+		if(fields != null) {
+			Map<String, String> columns = MPUtil.columns(entityClass);
+			StringBuilder select = new StringBuilder();
+			for(String field : fields) {
+				if(select.length() > 0) {
+					select.append(',');
+				}
+				select.append(columns.get(field));
+			}
+			wrapper.setSqlSelect(select.toString());
+		}
+		String table = table(entityClass);
+		long start = System.nanoTime();
+		String cacheKey = resultTables.contains(table) ? resultKey(table, params, wrapper) : null;
+		PageUtils pageUtil = cacheKey == null ? null : resultCache.get(cacheKey);
+		if(cacheKey != null) {
+			resultStats.record(pageUtil != null, start);
+		}
+		if(pageUtil == null) {
+			if(params.get(CURSOR) != null) {
+				pageUtil = queryCursorPage(params, wrapper, selector);
+			} else {
+				pageUtil = queryNumberPage(table, mapper, params, wrapper, selector);
+			}
+			if(cacheKey != null) {
+				resultCache.put(cacheKey, pageUtil);
+			}
+		}
+		//缓存中的结果共享，每次返回新的PageUtils，记录只读
+		List<Object> list = new ArrayList<Object>(pageUtil.getList().size());
+		for(Object record : pageUtil.getList()) {
+			@SuppressWarnings("unchecked")
+			Object row = decorator == null ? record : decorator.apply((T) record);
+			list.add(fields == null ? row : project(row, fields));
+		}
+		PageUtils result;
+		if(pageUtil.getTotal() < 0) {
+			result = new PageUtils(list, pageUtil.getPageSize(), pageUtil.getNextCursor());
+		} else {
+			result = new PageUtils(list, (int) pageUtil.getTotal(), pageUtil.getPageSize(), pageUtil.getCurrPage());
+			result.setTotalPage(pageUtil.getTotalPage());
+		}
+		return result;
+	}
+
+	/**
+	 * 表名+版本号+查询列+条件+排序+分页参数，条件参数值在paramNameValuePairs中
+	 */
+	private String resultKey(String table, Map<String, Object> params, Wrapper<?> wrapper) {
+		StringBuilder key = new StringBuilder(table).append('|').append(tableVersions.get(table));
+		key.append('|').append(wrapper.getSqlSelect());
+		key.append('|').append(wrapper.getSqlSegment());
+		key.append('|').append(wrapper.getParamNameValuePairs());
+		for(String name : new String[] { "page", "limit", "sidx", "order", CURSOR, "approxTotal" }) {
+			key.append('|').append(params.get(name));
+		}
+		return key.toString();
+	}
+
+	private <E, T> PageUtils queryNumberPage(String table, BaseMapper<E> mapper, Map<String, Object> params, Wrapper<E> wrapper,
+			PageSelector<E, T> selector) {
+		Page<T> page = new Query<T>(params).getPage();
+		long start = System.nanoTime();
+		String where = where(wrapper);
+		String key = null;
+		Long total = null;
+		if(where.isEmpty() && "true".equals(String.valueOf(params.get("approxTotal")))) {
+			total = approxTotal(table);
+		}
+		if(total == null) {
+			key = table + "|" + tableVersions.get(table) + "|" + where + "|" + wrapper.getParamNameValuePairs();
+			total = countCache.get(key);
+		}
+		countStats.record(total != null, start);
+		if(total != null) {
+			page.setSearchCount(false);
+			page.setTotal(total.intValue());
+			page.setRecords(selector.select(page, wrapper));
+		} else if(countExecutor != null) {
+			Future<Integer> count = countExecutor.submit(() -> mapper.selectCount(wrapper));
+			page.setSearchCount(false);
+			page.setRecords(selector.select(page, wrapper));
+			int rows = join(count);
+			page.setTotal(rows);
+			countCache.put(key, Long.valueOf(rows));
+		} else {
+			page.setRecords(selector.select(page, wrapper));
+			countCache.put(key, Long.valueOf(page.getTotal()));
+		}
+		return new PageUtils(page);
+	}
+
+	private static int join(Future<Integer> count) {
+		try {
+			Integer rows = count.get();
+			return rows == null ? 0 : rows;
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new EIException("统计总数被中断", e);
+		} catch (ExecutionException e) {
+			if(e.getCause() instanceof RuntimeException) {
+				throw (RuntimeException) e.getCause();
+			}
+			throw new EIException("统计总数失败", e.getCause());
+		}
+	}
+
+	/**
+	 * 总数缓存和结果缓存的命中率
+	 */
+	public Map<String, Object> stats() {
+		Map<String, Object> count = countStats.toMap();
+		count.put("size", countCache.size());
+		Map<String, Object> result = resultStats.toMap();
+		result.put("size", resultCache.size());
+		result.put("tables", resultTables);
+		Map<String, Object> map = new LinkedHashMap<String, Object>();
+		map.put("count", count);
+		map.put("result", result);
+		return map;
+	}
+
+	/**
+	 * 请求的字段，按白名单过滤，始终包含id(游标分页时还包含排序字段)；返回null表示全部字段
+	 */
+	private static Set<String> fields(Class<?> entityClass, Map<String, Object> params) {
+		Object value = params.get(FIELDS);
+		if(value == null || StringUtils.isBlank(value.toString()) || "*".equals(value.toString().trim())) {
+			return null;
+		}
+		Map<String, String> columns = MPUtil.columns(entityClass);
+		Set<String> fields = new LinkedHashSet<String>();
+		Set<String> excluded = new LinkedHashSet<String>();
+		for(String field : value.toString().split(",")) {
+			field = field.trim();
+			if(field.startsWith("-")) {
+				excluded.add(field.substring(1).trim());
+			} else if(columns.containsKey(field)) {
+				fields.add(field);
+			}
+		}
+		if(fields.isEmpty()) {
+			if(excluded.isEmpty()) {
+				return null;
+			}
+			fields.addAll(columns.keySet());
+		}
+		fields.removeAll(excluded);
+		fields.add("id");
+		if(params.get(CURSOR) != null && params.get("sort") != null) {
+			String sort = StrUtil.toCamelCase(params.get("sort").toString());
+			if(columns.containsKey(sort)) {
+				fields.add(sort);
+			}
+		}
+		return fields;
+	}
+
+	/**
+	 * 只保留请求的字段，日期等格式与实体的JSON注解一致
+	 */
+	@SuppressWarnings("unchecked")
+	private Map<String, Object> project(Object row, Set<String> fields) {
+		Map<String, Object> map = objectMapper.convertValue(row, LinkedHashMap.class);
+		map.keySet().retainAll(fields);
+		return map;
+	}
+
+	private static String table(Class<?> entityClass) {
+		TableName tableName = entityClass.getAnnotation(TableName.class);
+		return tableName != null ? tableName.value() : MPUtil.camelToUnderline(entityClass.getSimpleName());
+	}
+
+	/**
+	 * 大表的估算行数，小表返回null
+	 */
+	private Long approxTotal(String table) {
+		String key = table + "|approx";
+		Long rows = countCache.get(key);
+		if(rows == null) {
+			rows = commonDao.selectTableRows(table);
+			rows = rows == null ? -1L : rows;
+			countCache.put(key, rows);
+		}
+		return rows >= approxMinRows ? rows : null;
+	}
+
+	/**
+	 * 去掉ORDER BY后的查询条件，排序不影响总数
+	 */
+	private static String where(Wrapper<?> wrapper) {
+		String segment = wrapper.getSqlSegment();
+		return segment == null ? "" : ORDER_BY.matcher(segment).replaceFirst("").trim();
+	}
+
+	private <E, T> PageUtils queryCursorPage(Map<String, Object> params, Wrapper<E> wrapper, PageSelector<E, T> selector) {
+		int limit = params.get("limit") == null ? 10 : Integer.parseInt(params.get("limit").toString());
+		limit = Math.max(1, Math.min(limit, cursorMaxLimit));
+		String sort = params.get("sort") == null || StringUtils.isBlank(params.get("sort").toString()) ? "id" : params.get("sort").toString();
+		if(!COLUMN.matcher(sort).matches()) {
+			throw new EIException("排序字段不合法: " + sort);
+		}
+		boolean asc = !"desc".equalsIgnoreCase(params.get("order") == null ? "" : params.get("order").toString());
+
+		String token = params.get(CURSOR).toString();
+		if(StringUtils.isNotEmpty(token)) {
+			seek(wrapper, sort, asc, decode(token, sort, asc));
+		}
+		if(params.get("sort") == null || StringUtils.isBlank(params.get("sort").toString())) {
+			wrapper.orderBy("id", asc);
+		} else if(!"id".equals(sort)) {
+			//排序字段有重复值时以id确定唯一顺序
+			wrapper.orderBy("id", asc);
+		}
+
+		//多取一条判断是否还有下一页
+		Page<T> page = new Page<T>(1, limit + 1);
+		page.setSearchCount(false);
+		List<T> records = selector.select(page, wrapper);
+		String nextCursor = null;
+		if(records.size() > limit) {
+			records = records.subList(0, limit);
+			nextCursor = encode(records.get(limit - 1), sort, asc);
+		}
+		return new PageUtils(records, limit, nextCursor);
+	}
+
+	/**
+	 * 只查询位于游标之后的记录，排序字段为null的记录在升序时排最前、降序时排最后(与MySQL一致)
+	 */
+	private static void seek(Wrapper<?> wrapper, String sort, boolean asc, JSONObject cursor) {
+		Long id = cursor.getLong("i");
+		Object value = cursor.getBooleanValue("d") ? new Date(cursor.getLongValue("v")) : cursor.get("v");
+		String cmp = asc ? ">" : "<";
+		if("id".equals(sort)) {
+			wrapper.andNew("id " + cmp + " {0}", id);
+		} else if(value == null) {
+			if(asc) {
+				wrapper.andNew("(" + sort + " IS NULL AND id > {0}) OR " + sort + " IS NOT NULL", id);
+			} else {
+				wrapper.andNew(sort + " IS NULL AND id < {0}", id);
+			}
+		} else if(asc) {
+			wrapper.andNew(sort + " > {0} OR (" + sort + " = {0} AND id > {1})", value, id);
+		} else {
+			wrapper.andNew(sort + " < {0} OR (" + sort + " = {0} AND id < {1}) OR " + sort + " IS NULL", value, id);
+		}
+	}
+
+	private static String encode(Object row, String sort, boolean asc) {
+		JSONObject cursor = new JSONObject();
+		cursor.put("s", sort);
+		cursor.put("a", asc);
+		cursor.put("i", property(row, "id"));
+		Object value = property(row, StrUtil.toCamelCase(sort));
+		if(value instanceof Date) {
+			cursor.put("v", ((Date) value).getTime());
+			cursor.put("d", true);
+		} else {
+			cursor.put("v", value);
+		}
+		return ENCODER.encodeToString(cursor.toJSONString().getBytes(StandardCharsets.UTF_8));
+	}
+
+	private static JSONObject decode(String token, String sort, boolean asc) {
+		JSONObject cursor;
+		try {
+			cursor = JSONObject.parseObject(new String(DECODER.decode(token), StandardCharsets.UTF_8));
+		} catch (RuntimeException e) {
+			throw new EIException("cursor参数不合法");
+		}
+		if(cursor == null || cursor.getLong("i") == null || !sort.equals(cursor.getString("s")) || asc != cursor.getBooleanValue("a")) {
+			throw new EIException("cursor与当前排序不一致");
+		}
+		return cursor;
+	}
+
+	private static Object property(Object row, String name) {
+		try {
+			return PropertyUtils.getProperty(row, name);
+		} catch (Exception e) {
+			throw new EIException("排序字段不存在: " + name, e);
+		}
+	}
+}
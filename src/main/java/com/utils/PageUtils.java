@@ -22,6 +22,8 @@ public class PageUtils implements Serializable {
 	private int currPage;
 	//列表数据
 	private List<?> list;
+	//游标分页时下一页的游标，没有下一页时为null
+	private String nextCursor;
 	
 	/**
 	 * 分页
@@ -38,6 +40,21 @@ public class PageUtils implements Serializable {
 		this.totalPage = (int)Math.ceil((double)totalCount/pageSize);
 	}
 
+	/**
+	 * 游标分页，不统计总数，total和totalPage为-1
+	 * @param list        列表数据
+	 * @param pageSize    每页记录数
+	 * @param nextCursor  下一页的游标
+	 */
+	public PageUtils(List<?> list, int pageSize, String nextCursor) {
+		this.list = list;
+		this.total = -1;
+		this.pageSize = pageSize;
+		this.currPage = 1;
+		this.totalPage = -1;
+		this.nextCursor = nextCursor;
+	}
+
 	/**
 	 * 分页
 	 */
@@ -97,5 +114,13 @@ public class PageUtils implements Serializable {
 	public void setTotal(long total) {
 		this.total = total;
 	}
+
+	public String getNextCursor() {
+		return nextCursor;
+	}
+
+	public void setNextCursor(String nextCursor) {
+		this.nextCursor = nextCursor;
+	}
 	
 }
@@ -0,0 +1,57 @@
+package com.utils;
+
+import java.util.function.Function;
+
+import javax.annotation.PostConstruct;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * 登录账号缓存(各角色的/session接口)
+ * 按表名+表版本号+id缓存，账号表有任何写操作(包括CommonController的/sh和直接调用dao的修改)后旧的缓存自然失效，
+ * 不需要在每个写操作后手动清除；存活时间用于兜底其他节点的修改
+ */
+@Component
+public class SessionCache {
+
+	@Autowired
+	private TableVersions tableVersions;
+
+	@Value("${account.session.cache-size:10000}")
+	private int cacheSize;
+
+	/**
+	 * 缓存存活时间(秒)
+	 */
+	@Value("${account.session.ttl:300}")
+	private long cacheTtl;
+
+	private LruCache<String, Object> cache;
+
+	@PostConstruct
+	public void init() {
+		cache = new LruCache<String, Object>(cacheSize, cacheTtl * 1000);
+	}
+
+	/**
+	 * @param loader 缓存未命中时按id查询，返回null时不缓存
+	 */
+	@SuppressWarnings("unchecked")
+	public <T> T get(String table, Long id, Function<Long, T> loader) {
+		if(id == null) {
+			return null;
+		}
+		//先取版本号再查询：查询期间表被修改时，结果存在旧版本号下，不会被之后的请求读到
+		String key = table + "|" + tableVersions.get(table) + "|" + id;
+		T value = (T) cache.get(key);
+		if(value == null) {
+			value = loader.apply(id);
+			if(value != null) {
+				cache.put(key, value);
+			}
+		}
+		return value;
+	}
+}
@@ -0,0 +1,85 @@
+package com.utils;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.Base64;
+import java.util.Date;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+import com.alibaba.fastjson.JSONObject;
+import com.entity.TokenEntity;
+
+/**
+ * 自描述签名token
+ * 格式: base64url(载荷).base64url(HmacSHA256签名)，载荷包含用户id、用户名、表名、角色和过期时间
+ */
+public class SignedTokenUtil {
+
+	private static final String ALGORITHM = "HmacSHA256";
+
+	private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+
+	private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+	private final SecretKeySpec key;
+
+	public SignedTokenUtil(String secret) {
+		this.key = new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), ALGORITHM);
+	}
+
+	/**
+	 * 是否为签名token(随机token不含分隔符)
+	 */
+	public static boolean isSigned(String token) {
+		return token != null && token.indexOf('.') > 0;
+	}
+
+	/**
+	 * 签发token
+	 */
+	public String sign(TokenEntity tokenEntity) {
+		JSONObject payload = new JSONObject();
+		payload.put("u", tokenEntity.getUserid());
+		payload.put("n", tokenEntity.getUsername());
+		payload.put("t", tokenEntity.getTablename());
+		payload.put("r", tokenEntity.getRole());
+		payload.put("e", tokenEntity.getExpiratedtime().getTime());
+		String body = ENCODER.encodeToString(payload.toJSONString().getBytes(StandardCharsets.UTF_8));
+		return body + "." + ENCODER.encodeToString(mac(body));
+	}
+
+	/**
+	 * 校验签名并解析token，签名不正确或格式错误时返回null，不校验过期时间
+	 */
+	public TokenEntity verify(String token) {
+		int dot = token.indexOf('.');
+		if(dot <= 0 || dot == token.length() - 1) {
+			return null;
+		}
+		String body = token.substring(0, dot);
+		try {
+			byte[] signature = DECODER.decode(token.substring(dot + 1));
+			if(!MessageDigest.isEqual(signature, mac(body))) {
+				return null;
+			}
+			JSONObject payload = JSONObject.parseObject(new String(DECODER.decode(body), StandardCharsets.UTF_8));
+			TokenEntity tokenEntity = new TokenEntity(payload.getLong("u"), payload.getString("n"), payload.getString("t"),
+					payload.getString("r"), token, new Date(payload.getLongValue("e")));
+			return tokenEntity;
+		} catch (RuntimeException e) {
+			return null;
+		}
+	}
+
+	private byte[] mac(String body) {
+		try {
+			Mac mac = Mac.getInstance(ALGORITHM);
+			mac.init(key);
+			return mac.doFinal(body.getBytes(StandardCharsets.UTF_8));
+		} catch (Exception e) {
+			throw new IllegalStateException("token签名失败", e);
+		}
+	}
+}
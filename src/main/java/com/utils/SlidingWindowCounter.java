@@ -0,0 +1,65 @@
+package com.utils;
+
+/**
+ * 环形缓冲滑动窗口计数器
+ * 时间按固定长度分桶，每个槽位记录所属的桶序号，槽位被新的桶复用时先清零，内存占用固定
+ * 非线程安全，由调用方加锁
+ */
+public class SlidingWindowCounter {
+
+	private final long bucketMillis;
+
+	private final int[] counts;
+
+	private final long[] buckets;
+
+	/**
+	 * @param bucketMillis 每个桶的时长(毫秒)
+	 * @param size         桶的个数，即可统计的最长窗口
+	 */
+	public SlidingWindowCounter(long bucketMillis, int size) {
+		this.bucketMillis = bucketMillis;
+		this.counts = new int[size];
+		this.buckets = new long[size];
+		for(int i = 0; i < size; i++) {
+			buckets[i] = -1;
+		}
+	}
+
+	public void add(long now, int delta) {
+		long bucket = now / bucketMillis;
+		int slot = (int) (bucket % counts.length);
+		if(buckets[slot] != bucket) {
+			buckets[slot] = bucket;
+			counts[slot] = 0;
+		}
+		counts[slot] += delta;
+	}
+
+	/**
+	 * 最近n个桶(含当前桶)的合计
+	 */
+	public long sum(long now, int n) {
+		long bucket = now / bucketMillis;
+		long sum = 0;
+		//桶序号不能为负，否则取模得到负的槽位
+		for(int i = 0; i < n && i < counts.length && i <= bucket; i++) {
+			int slot = (int) ((bucket - i) % counts.length);
+			if(buckets[slot] == bucket - i) {
+				sum += counts[slot];
+			}
+		}
+		return sum;
+	}
+
+	/**
+	 * 最近一次计数所在桶的开始时间，从未计数时返回-1
+	 */
+	public long lastTime() {
+		long last = -1;
+		for(long bucket : buckets) {
+			last = Math.max(last, bucket);
+		}
+		return last < 0 ? -1 : last * bucketMillis;
+	}
+}
@@ -0,0 +1,40 @@
+package com.utils;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.stereotype.Component;
+
+/**
+ * 表版本号
+ * 每次对表执行INSERT/UPDATE/DELETE后版本号加一(由TableVersionInterceptor维护)，
+ * 查询缓存把版本号作为key的一部分，表被修改后旧的缓存自然失效
+ */
+@Component
+public class TableVersions {
+
+	private final Map<String, AtomicLong> versions = new ConcurrentHashMap<String, AtomicLong>();
+
+	/**
+	 * 没有写操作过的表返回0，不创建版本号，表名来自请求参数时不会使map无限增长
+	 */
+	public long get(String table) {
+		AtomicLong version = versions.get(table.toLowerCase());
+		return version == null ? 0 : version.get();
+	}
+
+	public void bump(String table) {
+		version(table).incrementAndGet();
+	}
+
+	private AtomicLong version(String table) {
+		String key = table.toLowerCase();
+		AtomicLong version = versions.get(key);
+		if(version == null) {
+			versions.putIfAbsent(key, new AtomicLong());
+			version = versions.get(key);
+		}
+		return version;
+	}
+}
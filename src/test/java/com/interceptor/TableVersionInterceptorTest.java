@@ -0,0 +1,98 @@
+package com.interceptor;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.Collections;
+
+import org.apache.ibatis.builder.StaticSqlSource;
+import org.apache.ibatis.executor.Executor;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.mapping.SqlCommandType;
+import org.apache.ibatis.plugin.Invocation;
+import org.apache.ibatis.session.Configuration;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.utils.TableVersions;
+
+class TableVersionInterceptorTest {
+
+	private final Configuration configuration = new Configuration();
+
+	private TableVersions tableVersions;
+
+	private TableVersionInterceptor interceptor;
+
+	@BeforeEach
+	void setUp() {
+		tableVersions = new TableVersions();
+		interceptor = new TableVersionInterceptor(tableVersions);
+	}
+
+	@AfterEach
+	void tearDown() {
+		if(TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.clearSynchronization();
+		}
+	}
+
+	@Test
+	void bumpsImmediatelyWithoutTransaction() throws Throwable {
+		update("UPDATE meishidingdan SET ispay = ? WHERE id = ?");
+
+		assertEquals(1, tableVersions.get("meishidingdan"));
+	}
+
+	@Test
+	void bumpsOnceAfterCommit() throws Throwable {
+		TransactionSynchronizationManager.initSynchronization();
+		update("UPDATE meishidingdan SET ispay = ? WHERE id = ?");
+		update("DELETE FROM meishidingdan WHERE id = ?");
+		update("INSERT INTO `meishidingdan_tongji` (dianpuzhanghao) VALUES (?)");
+
+		assertEquals(0, tableVersions.get("meishidingdan"));
+		assertEquals(1, TransactionSynchronizationManager.getSynchronizations().size());
+
+		complete(true);
+
+		assertEquals(1, tableVersions.get("meishidingdan"));
+		assertEquals(1, tableVersions.get("meishidingdan_tongji"));
+	}
+
+	@Test
+	void rollbackLeavesVersionUnchanged() throws Throwable {
+		TransactionSynchronizationManager.initSynchronization();
+		update("UPDATE meishidingdan SET ispay = ? WHERE id = ?");
+
+		complete(false);
+
+		assertEquals(0, tableVersions.get("meishidingdan"));
+	}
+
+	private void update(String sql) throws Throwable {
+		MappedStatement ms = new MappedStatement.Builder(configuration, "test." + configuration.getMappedStatementNames().size(),
+				new StaticSqlSource(configuration, sql), SqlCommandType.UPDATE).build();
+		configuration.addMappedStatement(ms);
+		Executor executor = null;
+		interceptor.intercept(new Invocation(executor, Executor.class.getMethod("update", MappedStatement.class, Object.class),
+				new Object[] { ms, Collections.emptyMap() }) {
+			@Override
+			public Object proceed() {
+				return 1;
+			}
+		});
+	}
+
+	private static void complete(boolean committed) {
+		for(TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+			if(committed) {
+				synchronization.afterCommit();
+			}
+			synchronization.afterCompletion(committed ? TransactionSynchronization.STATUS_COMMITTED : TransactionSynchronization.STATUS_ROLLED_BACK);
+		}
+		TransactionSynchronizationManager.clearSynchronization();
+	}
+}
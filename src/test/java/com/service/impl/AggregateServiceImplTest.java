@@ -0,0 +1,406 @@
+package com.service.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.ibatis.session.ResultContext;
+import org.apache.ibatis.session.ResultHandler;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.dao.CommonDao;
+import com.utils.TableVersions;
+
+class AggregateServiceImplTest {
+
+	private FakeCommonDao commonDao;
+
+	private TableVersions tableVersions;
+
+	@BeforeEach
+	void setUp() {
+		commonDao = new FakeCommonDao();
+		tableVersions = new TableVersions();
+	}
+
+	private AggregateServiceImpl service(String group, String value, String cal) {
+		AggregateServiceImpl service = new AggregateServiceImpl();
+		ReflectionTestUtils.setField(service, "commonDao", commonDao);
+		ReflectionTestUtils.setField(service, "tableVersions", tableVersions);
+		ReflectionTestUtils.setField(service, "groupSpecs", group);
+		ReflectionTestUtils.setField(service, "valueSpecs", value);
+		ReflectionTestUtils.setField(service, "calSpecs", cal);
+		service.init();
+		return service;
+	}
+
+	@Test
+	void batchCountsRowsWhoseColumnsAreAllNull() {
+		commonDao.rows.add(row("ispay", "已支付", "zongjiage", "10"));
+		//所有查询列都为NULL的行，MyBatis交给handler的是null
+		commonDao.rows.add(null);
+		AggregateServiceImpl service = service("", "", "");
+
+		Map<String, Object> result = service.batch("meishidingdan", Collections.singletonList("zongjiage"),
+				Collections.<String[]>emptyList(), Collections.singletonList("zongjiage"));
+
+		List<?> groups = (List<?>) result.get("group");
+		assertEquals(Arrays.asList(group("zongjiage", null, 1L), group("zongjiage", "10", 1L)), groups.get(0));
+		Map<?, ?> cal = (Map<?, ?>) ((List<?>) result.get("cal")).get(0);
+		assertEquals(new BigDecimal("10"), cal.get("sum"));
+		assertEquals("10", cal.get("max"));
+		assertEquals(1, commonDao.scans);
+	}
+
+	@Test
+	void batchReturnsNullCalWhenEveryValueIsNull() {
+		commonDao.rows.add(null);
+		commonDao.rows.add(null);
+		AggregateServiceImpl service = service("", "", "");
+
+		Map<String, Object> result = service.batch("meishidingdan", Collections.<String>emptyList(),
+				Collections.<String[]>emptyList(), Collections.singletonList("zongjiage"));
+
+		assertNull(((List<?>) result.get("cal")).get(0));
+	}
+
+	@Test
+	void updateInTransactionAppliesAfterCommit() {
+		commonDao.rows.add(row("ispay", "未支付"));
+		AggregateServiceImpl service = service("meishidingdan.ispay", "", "");
+		assertEquals(Arrays.asList(group("ispay", "未支付", 1L)), service.group("meishidingdan", "ispay"));
+
+		TransactionSynchronizationManager.initSynchronization();
+		try {
+			service.updated("meishidingdan", row("ispay", "未支付"), row("ispay", "已支付"));
+			assertEquals(Arrays.asList(group("ispay", "未支付", 1L)), service.group("meishidingdan", "ispay"));
+			//提交后TableVersionInterceptor先更新版本号，再执行汇总的增量更新
+			tableVersions.bump("meishidingdan");
+			for(TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+				synchronization.afterCommit();
+			}
+		} finally {
+			TransactionSynchronizationManager.clearSynchronization();
+		}
+
+		assertEquals(Arrays.asList(group("ispay", "已支付", 1L)), service.group("meishidingdan", "ispay"));
+		assertEquals(1, commonDao.loads);
+	}
+
+	@Test
+	void rolledBackUpdateIsNotApplied() {
+		commonDao.rows.add(row("ispay", "未支付"));
+		AggregateServiceImpl service = service("meishidingdan.ispay", "", "");
+		service.group("meishidingdan", "ispay");
+
+		TransactionSynchronizationManager.initSynchronization();
+		try {
+			service.updated("meishidingdan", row("ispay", "未支付"), row("ispay", "已支付"));
+		} finally {
+			TransactionSynchronizationManager.clearSynchronization();
+		}
+
+		assertEquals(Arrays.asList(group("ispay", "未支付", 1L)), service.group("meishidingdan", "ispay"));
+		assertEquals(1, commonDao.loads);
+	}
+
+	@Test
+	void groupAppliesWritesWithoutRequery() {
+		commonDao.rows.add(row("ispay", "未支付"));
+		commonDao.rows.add(row("ispay", "未支付"));
+		AggregateServiceImpl service = service("meishidingdan.ispay", "", "");
+		service.group("meishidingdan", "ispay");
+
+		//每条写语句先由TableVersionInterceptor更新版本号，再增量更新汇总
+		tableVersions.bump("meishidingdan");
+		service.inserted("meishidingdan", row("ispay", "已支付"));
+		tableVersions.bump("meishidingdan");
+		service.updated("meishidingdan", row("ispay", "未支付"), row("ispay", "已支付"));
+		tableVersions.bump("meishidingdan");
+		service.deleted("meishidingdan", Collections.singletonList(row("ispay", "未支付")));
+
+		assertEquals(Arrays.asList(group("ispay", "已支付", 2L)), service.group("meishidingdan", "ispay"));
+		assertEquals(1, commonDao.loads);
+	}
+
+	@Test
+	void writeWithoutHookReloadsOnNextRead() {
+		commonDao.rows.add(row("ispay", "未支付"));
+		AggregateServiceImpl service = service("meishidingdan.ispay", "", "");
+		service.group("meishidingdan", "ispay");
+
+		//绕过服务的写操作(如CommonController的/sh)只更新版本号
+		commonDao.rows.add(row("ispay", "已支付"));
+		tableVersions.bump("meishidingdan");
+
+		assertEquals(Arrays.asList(group("ispay", "已支付", 1L), group("ispay", "未支付", 1L)), service.group("meishidingdan", "ispay"));
+		assertEquals(2, commonDao.loads);
+	}
+
+	@Test
+	void applyAfterMissedWriteIsDiscarded() {
+		commonDao.rows.add(row("ispay", "未支付"));
+		AggregateServiceImpl service = service("meishidingdan.ispay", "", "");
+		service.group("meishidingdan", "ispay");
+
+		commonDao.rows.add(row("ispay", "未支付"));
+		tableVersions.bump("meishidingdan");
+		commonDao.rows.add(row("ispay", "已支付"));
+		tableVersions.bump("meishidingdan");
+		//版本号比已知状态多二，增量结果会漏掉第一次修改，只能重新加载
+		service.inserted("meishidingdan", row("ispay", "已支付"));
+
+		assertEquals(Arrays.asList(group("ispay", "已支付", 1L), group("ispay", "未支付", 2L)), service.group("meishidingdan", "ispay"));
+		assertEquals(2, commonDao.loads);
+	}
+
+	@Test
+	void valueAppliesWritesAndDropsEmptyCells() {
+		commonDao.rows.add(row("shop", "a", "total", "10"));
+		commonDao.rows.add(row("shop", "b", "total", "5"));
+		AggregateServiceImpl service = service("", "meishidingdan.shop.total", "");
+		assertEquals(Arrays.asList(group("shop", "a", new BigDecimal("10")), group("shop", "b", new BigDecimal("5"))),
+				service.value("meishidingdan", "shop", "total"));
+
+		tableVersions.bump("meishidingdan");
+		service.updated("meishidingdan", row("shop", "b", "total", "5"), row("shop", "a", "total", "2.5"));
+		tableVersions.bump("meishidingdan");
+		service.inserted("meishidingdan", row("shop", "c"));
+
+		//c只有空值，合计与数据库一样为null
+		assertEquals(Arrays.asList(group("shop", "a", new BigDecimal("12.5")), group("shop", "c", null)),
+				service.value("meishidingdan", "shop", "total"));
+		assertEquals(1, commonDao.loads);
+	}
+
+	@Test
+	void reconcileReloadsOnlyLoadedRollups() {
+		commonDao.rows.add(row("ispay", "未支付"));
+		AggregateServiceImpl service = service("meishidingdan.ispay,news.title", "", "");
+		service.group("meishidingdan", "ispay");
+
+		//其他节点的修改不会更新本节点的版本号
+		commonDao.rows.add(row("ispay", "已支付"));
+		service.reconcile();
+
+		assertEquals(2, commonDao.loads);
+		assertEquals(Arrays.asList(group("ispay", "已支付", 1L), group("ispay", "未支付", 1L)), service.group("meishidingdan", "ispay"));
+		assertEquals(2, commonDao.loads);
+	}
+
+	@Test
+	void calMinMaxFollowDeletes() {
+		for(long value : new long[] { 5, 10, 10, 20 }) {
+			commonDao.rows.add(row("jiage", value));
+		}
+		AggregateServiceImpl service = service("", "", "meishixinxi.jiage");
+		assertEquals(cal("45", 20L, 5L, "11.2500"), service.cal("meishixinxi", "jiage"));
+
+		delete(service, 20L);
+		assertEquals(cal("25", 10L, 5L, "8.3333"), service.cal("meishixinxi", "jiage"));
+		//重复的最大值删掉一个后仍是最大值
+		delete(service, 10L);
+		assertEquals(cal("15", 10L, 5L, "7.5000"), service.cal("meishixinxi", "jiage"));
+		delete(service, 10L);
+		assertEquals(cal("5", 5L, 5L, "5.0000"), service.cal("meishixinxi", "jiage"));
+		delete(service, 5L);
+		assertNull(service.cal("meishixinxi", "jiage"));
+		assertEquals(1, commonDao.loads);
+	}
+
+	@Test
+	void calDecreasingUpdateMovesMaxAndMin() {
+		for(long value : new long[] { 5, 10, 20 }) {
+			commonDao.rows.add(row("jiage", value));
+		}
+		AggregateServiceImpl service = service("", "", "meishixinxi.jiage");
+		service.cal("meishixinxi", "jiage");
+
+		tableVersions.bump("meishixinxi");
+		service.updated("meishixinxi", row("jiage", 20L), row("jiage", 1L));
+
+		assertEquals(cal("16", 10L, 1L, "5.3333"), service.cal("meishixinxi", "jiage"));
+		assertEquals(1, commonDao.loads);
+	}
+
+	@Test
+	void calIgnoresNullValues() {
+		commonDao.rows.add(row("jiage", 4L));
+		commonDao.rows.add(row("jiage", null));
+		AggregateServiceImpl service = service("", "", "meishixinxi.jiage");
+		assertEquals(cal("4", 4L, 4L, "4.0000"), service.cal("meishixinxi", "jiage"));
+
+		tableVersions.bump("meishixinxi");
+		service.updated("meishixinxi", row("jiage", null), row("jiage", 2L));
+
+		assertEquals(cal("6", 4L, 2L, "3.0000"), service.cal("meishixinxi", "jiage"));
+	}
+
+	private void delete(AggregateServiceImpl service, Object value) {
+		tableVersions.bump("meishixinxi");
+		service.deleted("meishixinxi", Collections.singletonList(row("jiage", value)));
+	}
+
+	private static Map<String, Object> cal(String sum, Object max, Object min, String avg) {
+		Map<String, Object> map = new LinkedHashMap<String, Object>();
+		map.put("sum", new BigDecimal(sum));
+		map.put("max", max);
+		map.put("min", min);
+		map.put("avg", new BigDecimal(avg));
+		return map;
+	}
+
+	private static Map<String, Object> row(Object... pairs) {
+		Map<String, Object> row = new HashMap<String, Object>();
+		for(int i = 0; i < pairs.length; i += 2) {
+			row.put((String) pairs[i], pairs[i + 1]);
+		}
+		return row;
+	}
+
+	private static Map<String, Object> group(String column, Object key, Object total) {
+		Map<String, Object> map = new LinkedHashMap<String, Object>();
+		map.put(column, key);
+		map.put("total", total);
+		return map;
+	}
+
+	/**
+	 * 内存中的表，rows中的null表示所有列都为NULL的行
+	 */
+	static class FakeCommonDao implements CommonDao {
+
+		final List<Map<String, Object>> rows = new ArrayList<Map<String, Object>>();
+
+		int loads;
+
+		int scans;
+
+		@Override
+		public List<Map<String, Object>> selectGroup(Map<String, Object> params) {
+			loads++;
+			String column = (String) params.get("column");
+			Map<Object, Long> counts = new LinkedHashMap<Object, Long>();
+			for(Map<String, Object> row : rows) {
+				Object key = row != null ? row.get(column) : null;
+				Long count = counts.get(key);
+				counts.put(key, count == null ? 1 : count + 1);
+			}
+			List<Map<String, Object>> result = new ArrayList<Map<String, Object>>();
+			for(Map.Entry<Object, Long> entry : counts.entrySet()) {
+				Map<String, Object> map = new HashMap<String, Object>();
+				map.put(column, entry.getKey());
+				map.put("total", entry.getValue());
+				result.add(map);
+			}
+			return result;
+		}
+
+		@Override
+		public List<Map<String, Object>> selectValueRollup(Map<String, Object> params) {
+			loads++;
+			String x = (String) params.get("xColumn");
+			String y = (String) params.get("yColumn");
+			Map<Object, Map<String, Object>> cells = new LinkedHashMap<Object, Map<String, Object>>();
+			for(Map<String, Object> row : rows) {
+				Object key = row != null ? row.get(x) : null;
+				Map<String, Object> cell = cells.get(key);
+				if(cell == null) {
+					cell = new HashMap<String, Object>();
+					cell.put(x, key);
+					cell.put("records", 0L);
+					cell.put("valued", 0L);
+					cells.put(key, cell);
+				}
+				cell.put("records", (Long) cell.get("records") + 1);
+				Object value = row != null ? row.get(y) : null;
+				if(value != null) {
+					cell.put("valued", (Long) cell.get("valued") + 1);
+					BigDecimal total = (BigDecimal) cell.get("total");
+					BigDecimal number = new BigDecimal(value.toString());
+					cell.put("total", total == null ? number : total.add(number));
+				}
+			}
+			return new ArrayList<Map<String, Object>>(cells.values());
+		}
+
+		@Override
+		public void streamColumns(String table, String columns, ResultHandler<Map<String, Object>> handler) {
+			scans++;
+			for(final Map<String, Object> row : rows) {
+				handler.handleResult(new ResultContext<Map<String, Object>>() {
+					@Override
+					public Map<String, Object> getResultObject() {
+						return row;
+					}
+
+					@Override
+					public int getResultCount() {
+						return 0;
+					}
+
+					@Override
+					public void stop() {
+					}
+
+					@Override
+					public boolean isStopped() {
+						return false;
+					}
+				});
+			}
+		}
+
+		@Override
+		public List<String> getOption(Map<String, Object> params) {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public Map<String, Object> getFollowByOption(Map<String, Object> params) {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public List<String> getFollowByOption2(Map<String, Object> params) {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public void sh(Map<String, Object> params) {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public int remindCount(Map<String, Object> params) {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public Map<String, Object> selectCal(Map<String, Object> params) {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public List<Map<String, Object>> selectValue(Map<String, Object> params) {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public Long selectTableRows(String table) {
+			throw new UnsupportedOperationException();
+		}
+	}
+}
@@ -0,0 +1,89 @@
+package com.service.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.dao.ConfigDao;
+import com.entity.ConfigEntity;
+import com.utils.PageUtils;
+
+class ConfigServiceImplTest {
+
+	private ConfigServiceImpl service;
+
+	@BeforeEach
+	void setUp() {
+		List<ConfigEntity> configs = Arrays.asList(config(1L, "picture1", "b.jpg"), config(2L, "homepage", null), config(3L, "picture2", "a.jpg"));
+		ConfigDao configDao = (ConfigDao) Proxy.newProxyInstance(ConfigDao.class.getClassLoader(), new Class<?>[] { ConfigDao.class },
+				(proxy, method, args) -> {
+					if(method.getName().equals("selectList")) {
+						return configs;
+					}
+					throw new UnsupportedOperationException(method.getName());
+				});
+		service = new ConfigServiceImpl();
+		ReflectionTestUtils.setField(service, "baseMapper", configDao);
+		service.reload();
+	}
+
+	@Test
+	void pageBelowOneReturnsFirstPage() {
+		assertEquals(Arrays.asList(1L, 2L), ids(service.queryPage(params("page", "0", "limit", "2"))));
+		assertEquals(Arrays.asList(1L, 2L), ids(service.queryPage(params("page", "-3", "limit", "2"))));
+		assertEquals(Arrays.asList(3L), ids(service.queryPage(params("page", "2", "limit", "2"))));
+	}
+
+	@Test
+	void pageBeyondEndIsEmpty() {
+		PageUtils page = service.queryPage(params("page", "5", "limit", "2"));
+
+		assertEquals(0, page.getList().size());
+		assertEquals(3, page.getTotal());
+	}
+
+	@Test
+	void sortsSnapshotBySidxAndOrder() {
+		assertEquals(Arrays.asList(3L, 1L, 2L), ids(service.queryPage(params("sidx", "name", "order", "desc"))));
+		assertEquals(Arrays.asList(2L, 3L, 1L), ids(service.queryPage(params("sidx", "value", "order", "asc"))));
+		assertEquals(Arrays.asList(1L, 2L), ids(service.queryPage(params("sidx", "id", "order", "asc", "limit", "2"))));
+	}
+
+	@Test
+	void sidxWithoutOrderKeepsIdOrder() {
+		assertEquals(Arrays.asList(1L, 2L, 3L), ids(service.queryPage(params("sidx", "name"))));
+	}
+
+	private static Map<String, Object> params(String... pairs) {
+		Map<String, Object> params = new HashMap<String, Object>();
+		for(int i = 0; i < pairs.length; i += 2) {
+			params.put(pairs[i], pairs[i + 1]);
+		}
+		return params;
+	}
+
+	private static List<Long> ids(PageUtils page) {
+		List<Long> ids = new ArrayList<Long>();
+		for(Object config : page.getList()) {
+			ids.add(((ConfigEntity) config).getId());
+		}
+		return ids;
+	}
+
+	private static ConfigEntity config(Long id, String name, String value) {
+		ConfigEntity config = new ConfigEntity();
+		config.setId(id);
+		config.setName(name);
+		config.setValue(value);
+		return config;
+	}
+}
@@ -0,0 +1,32 @@
+package com.service.impl;
+
+import static org.mockito.Mockito.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import java.util.Date;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.dao.TokenDao;
+import com.entity.TokenEntity;
+
+class JdbcTokenStoreTest {
+
+	@Test
+	void saveIsSingleUpsert() {
+		TokenDao tokenDao = mock(TokenDao.class);
+		JdbcTokenStore store = new JdbcTokenStore();
+		ReflectionTestUtils.setField(store, "tokenDao", tokenDao);
+		TokenEntity tokenEntity = new TokenEntity(1L, "zhangsan", "yonghu", "用户", "abc", new Date());
+
+		store.save(tokenEntity);
+
+		verify(tokenDao).upsertToken(tokenEntity);
+		verify(tokenDao, never()).insert(any(TokenEntity.class));
+		verify(tokenDao, never()).updateById(any(TokenEntity.class));
+		verify(tokenDao, never()).selectList(any());
+	}
+}
@@ -0,0 +1,124 @@
+package com.service.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.Date;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.entity.TokenEntity;
+
+class MappedFileTokenStoreTest {
+
+	@TempDir
+	Path dir;
+
+	private MappedFileTokenStore open(int initialSize) throws IOException {
+		MappedFileTokenStore store = new MappedFileTokenStore();
+		ReflectionTestUtils.setField(store, "path", dir.resolve("token.store").toString());
+		ReflectionTestUtils.setField(store, "initialSize", initialSize);
+		store.init();
+		return store;
+	}
+
+	/**
+	 * 模拟重启：关闭后在同一文件上重新打开
+	 */
+	private MappedFileTokenStore reopen(MappedFileTokenStore store, int initialSize) throws IOException {
+		store.close();
+		return open(initialSize);
+	}
+
+	private static TokenEntity token(long userid, String role, String token, long expireInMillis) {
+		return new TokenEntity(userid, "user" + userid, "yonghu", role, token, new Date(System.currentTimeMillis() + expireInMillis));
+	}
+
+	@Test
+	void replayRestoresSavesAndRemoves() throws IOException {
+		MappedFileTokenStore store = open(4096);
+		store.save(token(1, "用户", "a", 60000));
+		store.save(token(2, "用户", "b", 60000));
+		store.remove("b");
+
+		store = reopen(store, 4096);
+
+		TokenEntity a = store.findByToken("a");
+		assertNotNull(a);
+		assertEquals(Long.valueOf(1), a.getUserid());
+		assertEquals("user1", a.getUsername());
+		assertNull(store.findByToken("b"));
+	}
+
+	@Test
+	void replayKeepsOnlyLatestTokenOfUser() throws IOException {
+		MappedFileTokenStore store = open(4096);
+		store.save(token(1, "用户", "old", 60000));
+		Long id = store.findByToken("old").getId();
+		store.save(token(1, "用户", "new", 60000));
+
+		store = reopen(store, 4096);
+
+		assertNull(store.findByToken("old"));
+		assertEquals(id, store.findByToken("new").getId());
+		//重新打开后新分配的id不与回放的id重复
+		store.save(token(2, "用户", "other", 60000));
+		assertEquals(Long.valueOf(id + 1), store.findByToken("other").getId());
+	}
+
+	@Test
+	void replayRestoresRenewedExpiry() throws IOException {
+		MappedFileTokenStore store = open(4096);
+		store.save(token(1, "用户", "a", 1000));
+		Date renewed = new Date(System.currentTimeMillis() + 3600000);
+		TokenEntity renewal = new TokenEntity();
+		renewal.setToken("a");
+		renewal.setExpiratedtime(renewed);
+		store.renew(Collections.singletonList(renewal));
+
+		store = reopen(store, 4096);
+
+		assertEquals(renewed, store.findByToken("a").getExpiratedtime());
+	}
+
+	@Test
+	void compactionOnOpenDropsExpiredAndRemovedRecords() throws IOException {
+		MappedFileTokenStore store = open(4096);
+		store.save(token(1, "用户", "live", 60000));
+		store.save(token(2, "用户", "expired", -1000));
+		for(int i = 0; i < 10; i++) {
+			store.save(token(3, "用户", "churn" + i, 60000));
+		}
+		store.remove("churn9");
+		int before = (Integer) store.stats().get("fileBytes");
+
+		store = reopen(store, 4096);
+
+		assertNotNull(store.findByToken("live"));
+		assertNull(store.findByToken("expired"));
+		assertNull(store.findByToken("churn9"));
+		assertEquals(1, store.stats().get("size"));
+		assertTrue((Integer) store.stats().get("fileBytes") < before / 5);
+	}
+
+	@Test
+	void growsFileWhenFull() throws IOException {
+		MappedFileTokenStore store = open(256);
+		for(int i = 0; i < 200; i++) {
+			store.save(token(i, "用户", "t" + i, 60000));
+		}
+
+		store = reopen(store, 256);
+
+		assertEquals(200, store.stats().get("size"));
+		assertNotNull(store.findByToken("t0"));
+		assertNotNull(store.findByToken("t199"));
+	}
+}
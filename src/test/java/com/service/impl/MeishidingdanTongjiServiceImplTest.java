@@ -0,0 +1,151 @@
+package com.service.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.dao.MeishidingdanTongjiDao;
+import com.entity.MeishidingdanEntity;
+
+class MeishidingdanTongjiServiceImplTest {
+
+	private FakeTongjiDao tongjiDao;
+
+	private MeishidingdanTongjiServiceImpl service;
+
+	@BeforeEach
+	void setUp() {
+		tongjiDao = new FakeTongjiDao();
+		service = new MeishidingdanTongjiServiceImpl();
+		ReflectionTestUtils.setField(service, "meishidingdanTongjiDao", tongjiDao);
+	}
+
+	@Test
+	void paidToUnpaidOnlyMovesPaymentColumns() {
+		MeishidingdanEntity before = order("shop1", time(10, 15), 2, "25.50", "已支付");
+		MeishidingdanEntity after = order("shop1", time(10, 15), 2, "25.50", "未支付");
+
+		service.update(before, after);
+
+		assertEquals(1, tongjiDao.deltas.size());
+		Map<String, Object> delta = tongjiDao.deltas.get(0);
+		assertEquals("shop1", delta.get("dianpuzhanghao"));
+		assertEquals(time(10, 0), delta.get("shijian"));
+		assertEquals(0, delta.get("dingdanshu"));
+		assertEquals(0, delta.get("goumaishuliang"));
+		assertEquals(0, ((BigDecimal) delta.get("zongjiage")).signum());
+		assertEquals(-1, delta.get("zhifushu"));
+		assertEquals(new BigDecimal("-25.50"), delta.get("zhifujine"));
+	}
+
+	@Test
+	void unchangedOrderWritesNothing() {
+		service.update(order("shop1", time(10, 15), 2, "25.50", "已支付"), order("shop1", time(10, 15), 2, "25.50", "已支付"));
+
+		assertTrue(tongjiDao.deltas.isEmpty());
+	}
+
+	@Test
+	void shopAndHourMoveSubtractsOldBucketAndAddsNewOne() {
+		MeishidingdanEntity before = order("shop1", time(10, 15), 2, "20", "已支付");
+		MeishidingdanEntity after = order("shop2", time(11, 5), 3, "30", "已支付");
+
+		service.update(before, after);
+
+		assertEquals(2, tongjiDao.deltas.size());
+		Map<String, Object> removed = tongjiDao.deltas.get(0);
+		assertEquals("shop1", removed.get("dianpuzhanghao"));
+		assertEquals(time(10, 0), removed.get("shijian"));
+		assertEquals(-1, removed.get("dingdanshu"));
+		assertEquals(-2, removed.get("goumaishuliang"));
+		assertEquals(new BigDecimal("-20"), removed.get("zongjiage"));
+		assertEquals(-1, removed.get("zhifushu"));
+		assertEquals(new BigDecimal("-20"), removed.get("zhifujine"));
+		Map<String, Object> added = tongjiDao.deltas.get(1);
+		assertEquals("shop2", added.get("dianpuzhanghao"));
+		assertEquals(time(11, 0), added.get("shijian"));
+		assertEquals(1, added.get("dingdanshu"));
+		assertEquals(3, added.get("goumaishuliang"));
+		assertEquals(new BigDecimal("30"), added.get("zongjiage"));
+		assertEquals(1, added.get("zhifushu"));
+		assertEquals(new BigDecimal("30"), added.get("zhifujine"));
+	}
+
+	@Test
+	void nonNumericTotalCountsOrderButNotAmount() {
+		service.update(null, order("shop1", time(10, 15), 1, "面议", "已支付"));
+
+		assertEquals(1, tongjiDao.deltas.size());
+		Map<String, Object> delta = tongjiDao.deltas.get(0);
+		assertEquals(1, delta.get("dingdanshu"));
+		assertEquals(1, delta.get("goumaishuliang"));
+		assertEquals(BigDecimal.ZERO, delta.get("zongjiage"));
+		assertEquals(1, delta.get("zhifushu"));
+		assertEquals(BigDecimal.ZERO, delta.get("zhifujine"));
+	}
+
+	@Test
+	void deleteSubtractsWholeOrder() {
+		service.update(order("shop1", time(10, 15), 4, " 12.5 ", "未支付"), null);
+
+		assertEquals(1, tongjiDao.deltas.size());
+		Map<String, Object> delta = tongjiDao.deltas.get(0);
+		assertEquals(-1, delta.get("dingdanshu"));
+		assertEquals(-4, delta.get("goumaishuliang"));
+		assertEquals(new BigDecimal("-12.5"), delta.get("zongjiage"));
+		assertEquals(0, delta.get("zhifushu"));
+		assertEquals(BigDecimal.ZERO, delta.get("zhifujine"));
+	}
+
+	private static MeishidingdanEntity order(String dianpuzhanghao, Date xiadanshijian, int goumaishuliang, String zongjiage, String ispay) {
+		MeishidingdanEntity order = new MeishidingdanEntity();
+		order.setDianpuzhanghao(dianpuzhanghao);
+		order.setXiadanshijian(xiadanshijian);
+		order.setGoumaishuliang(goumaishuliang);
+		order.setZongjiage(zongjiage);
+		order.setIspay(ispay);
+		return order;
+	}
+
+	private static Date time(int hour, int minute) {
+		Calendar calendar = Calendar.getInstance();
+		calendar.clear();
+		calendar.set(2021, Calendar.MARCH, 12, hour, minute);
+		return calendar.getTime();
+	}
+
+	static class FakeTongjiDao implements MeishidingdanTongjiDao {
+
+		final List<Map<String, Object>> deltas = new ArrayList<Map<String, Object>>();
+
+		@Override
+		public void addDelta(Map<String, Object> params) {
+			deltas.add(params);
+		}
+
+		@Override
+		public List<Map<String, Object>> selectSeries(Map<String, Object> params) {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public void deleteAll() {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public void rebuild() {
+			throw new UnsupportedOperationException();
+		}
+	}
+}
@@ -0,0 +1,141 @@
+package com.service.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.dao.MeishixinxiDao;
+import com.entity.MeishixinxiEntity;
+import com.entity.view.MeishixinxiView;
+import com.service.MeishixinxiService;
+
+class MeishixinxiRankServiceImplTest {
+
+	/**
+	 * 模拟表：id -> 数据库中的点击次数，按点击次数倒序
+	 */
+	private final Map<Long, Integer> clicknums = new LinkedHashMap<Long, Integer>();
+
+	/**
+	 * id -> 尚未写回的点击次数
+	 */
+	private final Map<Long, Integer> pending = new HashMap<Long, Integer>();
+
+	private int loads;
+
+	private MeishixinxiRankServiceImpl service;
+
+	@BeforeEach
+	void setUp() {
+		MeishixinxiDao dao = (MeishixinxiDao) Proxy.newProxyInstance(MeishixinxiDao.class.getClassLoader(), new Class<?>[] { MeishixinxiDao.class },
+				(proxy, method, args) -> {
+					if(method.getName().equals("selectListView") && args.length == 2) {
+						loads++;
+						List<MeishixinxiView> records = new ArrayList<MeishixinxiView>();
+						for(Map.Entry<Long, Integer> entry : clicknums.entrySet()) {
+							MeishixinxiView view = new MeishixinxiView();
+							view.setId(entry.getKey());
+							view.setClicknum(entry.getValue());
+							records.add(view);
+						}
+						return records;
+					}
+					throw new UnsupportedOperationException(method.getName());
+				});
+		MeishixinxiService meishixinxiService = (MeishixinxiService) Proxy.newProxyInstance(MeishixinxiService.class.getClassLoader(),
+				new Class<?>[] { MeishixinxiService.class }, (proxy, method, args) -> {
+					if(method.getName().equals("mergePendingClicks")) {
+						MeishixinxiEntity meishixinxi = (MeishixinxiEntity) args[0];
+						Integer delta = pending.get(meishixinxi.getId());
+						if(delta != null) {
+							meishixinxi.setClicknum(meishixinxi.getClicknum() + delta);
+						}
+						return null;
+					}
+					throw new UnsupportedOperationException(method.getName());
+				});
+		service = new MeishixinxiRankServiceImpl();
+		ReflectionTestUtils.setField(service, "meishixinxiDao", dao);
+		ReflectionTestUtils.setField(service, "meishixinxiService", meishixinxiService);
+		ReflectionTestUtils.setField(service, "topK", 10);
+		ReflectionTestUtils.setField(service, "maxCategories", 8);
+		ReflectionTestUtils.setField(service, "ttl", 600L);
+		service.init();
+		clicknums.put(1L, 10);
+		clicknums.put(2L, 8);
+	}
+
+	private List<Long> ids() {
+		List<Long> ids = new ArrayList<Long>();
+		for(Object meishixinxi : service.topPage(null, 1, 10).getList()) {
+			ids.add(((MeishixinxiEntity) meishixinxi).getId());
+		}
+		return ids;
+	}
+
+	@Test
+	void loadMergesPendingClicks() {
+		pending.put(2L, 5);
+
+		List<?> list = service.topPage(null, 1, 10).getList();
+
+		assertEquals(Long.valueOf(2L), ((MeishixinxiEntity) list.get(0)).getId());
+		assertEquals(Integer.valueOf(13), ((MeishixinxiEntity) list.get(0)).getClicknum());
+		assertEquals(Integer.valueOf(10), ((MeishixinxiEntity) list.get(1)).getClicknum());
+	}
+
+	@Test
+	void rankingLoadedBeforeCommitIsDropped() {
+		TransactionSynchronizationManager.initSynchronization();
+		try {
+			//删除美食2的事务尚未提交时，并发请求加载的排行仍包含美食2
+			service.invalidate();
+			assertEquals(2, ids().size());
+			clicknums.remove(2L);
+			for(TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+				synchronization.afterCommit();
+			}
+		} finally {
+			TransactionSynchronizationManager.clearSynchronization();
+		}
+
+		assertEquals(1, ids().size());
+		assertEquals(2, loads);
+	}
+
+	@Test
+	void rolledBackChangeKeepsRanking() {
+		ids();
+
+		TransactionSynchronizationManager.initSynchronization();
+		try {
+			service.invalidate();
+		} finally {
+			TransactionSynchronizationManager.clearSynchronization();
+		}
+
+		ids();
+		assertEquals(1, loads);
+	}
+
+	@Test
+	void invalidateOutsideTransactionClearsImmediately() {
+		ids();
+
+		service.invalidate();
+		ids();
+
+		assertEquals(2, loads);
+	}
+}
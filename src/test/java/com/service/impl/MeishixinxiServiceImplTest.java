@@ -0,0 +1,178 @@
+package com.service.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.dao.MeishixinxiDao;
+import com.entity.MeishixinxiEntity;
+import com.service.AggregateService;
+import com.service.MeishixinxiRankService;
+
+class MeishixinxiServiceImplTest {
+
+	/**
+	 * 模拟表中的clicknum列
+	 */
+	private final Map<Long, Integer> clicknums = new HashMap<Long, Integer>();
+
+	/**
+	 * 每次addClicknumBatch的记录数
+	 */
+	private final List<Integer> batches = new ArrayList<Integer>();
+
+	/**
+	 * 接下来失败的addClicknumBatch次数
+	 */
+	private int failures;
+
+	/**
+	 * 调用过的dao方法
+	 */
+	private final List<String> calls = new ArrayList<String>();
+
+	private AggregateService aggregateService;
+
+	private MeishixinxiServiceImpl service;
+
+	@BeforeEach
+	void setUp() {
+		MeishixinxiDao dao = (MeishixinxiDao) Proxy.newProxyInstance(MeishixinxiDao.class.getClassLoader(), new Class<?>[] { MeishixinxiDao.class },
+				(proxy, method, args) -> {
+					calls.add(method.getName());
+					if(method.getName().equals("selectByIdForUpdate") || method.getName().equals("selectById")) {
+						MeishixinxiEntity entity = new MeishixinxiEntity();
+						entity.setId((Long) args[0]);
+						entity.setClicknum(clicknums.get(args[0]));
+						return entity;
+					}
+					if(method.getName().equals("selectBatchIdsForUpdate")) {
+						List<MeishixinxiEntity> list = new ArrayList<MeishixinxiEntity>();
+						for(Object id : (Collection<?>) args[0]) {
+							MeishixinxiEntity entity = new MeishixinxiEntity();
+							entity.setId((Long) id);
+							list.add(entity);
+						}
+						return list;
+					}
+					if(method.getName().equals("deleteBatchIds")) {
+						return ((Collection<?>) args[0]).size();
+					}
+					if(method.getName().equals("updateById")) {
+						MeishixinxiEntity entity = (MeishixinxiEntity) args[0];
+						//field-strategy为非空判断，null的字段不更新
+						if(entity.getClicknum() != null) {
+							clicknums.put(entity.getId(), entity.getClicknum());
+						}
+						return 1;
+					}
+					if(method.getName().equals("addClicknumBatch")) {
+						@SuppressWarnings("unchecked")
+						List<MeishixinxiEntity> list = (List<MeishixinxiEntity>) args[0];
+						batches.add(list.size());
+						if(failures > 0) {
+							failures--;
+							throw new IllegalStateException("deadlock");
+						}
+						for(MeishixinxiEntity entity : list) {
+							Integer clicknum = clicknums.get(entity.getId());
+							clicknums.put(entity.getId(), (clicknum == null ? 0 : clicknum) + entity.getClicknum());
+						}
+						return list.size();
+					}
+					throw new UnsupportedOperationException(method.getName());
+				});
+		service = new MeishixinxiServiceImpl();
+		ReflectionTestUtils.setField(service, "baseMapper", dao);
+		aggregateService = mock(AggregateService.class);
+		ReflectionTestUtils.setField(service, "aggregateService", aggregateService);
+		ReflectionTestUtils.setField(service, "meishixinxiRankService", mock(MeishixinxiRankService.class));
+	}
+
+	/**
+	 * 模拟/info：按数据库中的值查出记录后计入一次点击
+	 */
+	private MeishixinxiEntity info(long id) {
+		MeishixinxiEntity meishixinxi = new MeishixinxiEntity();
+		meishixinxi.setId(id);
+		meishixinxi.setClicknum(clicknums.get(id));
+		service.recordClick(meishixinxi);
+		return meishixinxi;
+	}
+
+	@Test
+	void editFormDoesNotCountPendingClicksTwice() {
+		clicknums.put(1L, 10);
+		info(1L);
+		MeishixinxiEntity form = info(1L);
+		assertEquals(Integer.valueOf(12), form.getClicknum());
+
+		//后台编辑表单把/info返回的整条记录提交到/update
+		service.updateById(form);
+		service.flushClicks();
+
+		assertEquals(Integer.valueOf(12), clicknums.get(1L));
+	}
+
+	@Test
+	void clicksAfterLoadingFormAreKept() {
+		clicknums.put(1L, 10);
+		MeishixinxiEntity form = info(1L);
+		info(1L);
+		service.flushClicks();
+
+		service.updateById(form);
+		service.flushClicks();
+
+		assertEquals(Integer.valueOf(12), clicknums.get(1L));
+	}
+
+	@Test
+	void failedBatchDoesNotAbortFlush() {
+		for(long id = 1; id <= 501; id++) {
+			clicknums.put(id, 0);
+			info(id);
+		}
+		failures = 1;
+
+		service.flushClicks();
+
+		assertEquals(2, batches.size());
+		int written = 0;
+		for(Integer clicknum : clicknums.values()) {
+			written += clicknum;
+		}
+		//失败批次的点击保留在计数器中，下次写回
+		assertEquals(501 - batches.get(0), written);
+		service.flushClicks();
+		for(long id = 1; id <= 501; id++) {
+			assertEquals(Integer.valueOf(1), clicknums.get(id));
+		}
+	}
+
+	@Test
+	void maintainedTableLocksRowsBeforeWrite() {
+		when(aggregateService.maintains("meishixinxi")).thenReturn(true);
+		clicknums.put(1L, 0);
+		MeishixinxiEntity entity = new MeishixinxiEntity();
+		entity.setId(1L);
+
+		service.updateById(entity);
+		service.deleteBatchIds(Arrays.asList(1L, 2L));
+
+		//修改前的记录必须加行锁读取，普通读取在并发修改时会读到同一个旧值
+		assertEquals(Arrays.asList("selectByIdForUpdate", "updateById", "selectById", "selectBatchIdsForUpdate", "deleteBatchIds"), calls);
+	}
+}
@@ -0,0 +1,147 @@
+package com.service.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.Mockito.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.entity.TokenEntity;
+import com.service.TokenStore;
+import com.utils.SignedTokenUtil;
+
+class TokenServiceImplTest {
+
+	private TokenStore tokenStore;
+
+	private TokenServiceImpl service;
+
+	@BeforeEach
+	void setUp() {
+		tokenStore = mock(TokenStore.class);
+		service = new TokenServiceImpl();
+		ReflectionTestUtils.setField(service, "tokenStore", tokenStore);
+		ReflectionTestUtils.setField(service, "cacheSize", 100);
+		ReflectionTestUtils.setField(service, "cacheTtl", 300L);
+		ReflectionTestUtils.setField(service, "mode", "random");
+		ReflectionTestUtils.setField(service, "secret", "");
+		service.init();
+	}
+
+	@Test
+	void loginSavesOneTokenPerUserAndRole() {
+		String token = service.generateToken(1L, "zhangsan", "yonghu", "用户");
+
+		ArgumentCaptor<TokenEntity> saved = ArgumentCaptor.forClass(TokenEntity.class);
+		verify(tokenStore).save(saved.capture());
+		assertEquals(token, saved.getValue().getToken());
+		assertEquals(Long.valueOf(1L), saved.getValue().getUserid());
+		assertEquals("用户", saved.getValue().getRole());
+		assertEquals(32, token.length());
+	}
+
+	@Test
+	void newTokenIsServedFromCache() {
+		String token = service.generateToken(1L, "zhangsan", "yonghu", "用户");
+
+		TokenEntity tokenEntity = service.getTokenEntity(token);
+
+		assertEquals(token, tokenEntity.getToken());
+		verify(tokenStore, never()).findByToken(token);
+	}
+
+	@Test
+	void reloginEvictsPreviousTokenFromCache() {
+		String previous = service.generateToken(1L, "zhangsan", "yonghu", "用户");
+		String current = service.generateToken(1L, "zhangsan", "yonghu", "用户");
+		assertNotEquals(previous, current);
+
+		//存储中旧token已被覆盖，缓存失效后必须回到存储查询
+		assertNull(service.getTokenEntity(previous));
+		verify(tokenStore).findByToken(previous);
+		assertEquals(current, service.getTokenEntity(current).getToken());
+		verify(tokenStore, never()).findByToken(current);
+		verify(tokenStore, times(2)).save(any(TokenEntity.class));
+	}
+
+	@Test
+	void otherRoleOfSameUserKeepsItsToken() {
+		String user = service.generateToken(1L, "zhangsan", "yonghu", "用户");
+		String shop = service.generateToken(1L, "zhangsan", "meishidian", "美食店");
+
+		assertEquals(user, service.getTokenEntity(user).getToken());
+		assertEquals(shop, service.getTokenEntity(shop).getToken());
+		verify(tokenStore, never()).findByToken(user);
+	}
+
+	@Test
+	void revokeRemovesFromCacheAndStore() {
+		String token = service.generateToken(1L, "zhangsan", "yonghu", "用户");
+
+		service.revokeToken(token);
+
+		verify(tokenStore).remove(token);
+		assertNull(service.getTokenEntity(token));
+		verify(tokenStore).findByToken(token);
+	}
+
+	@Test
+	void signedTokenIsRejectedOnceExpired() {
+		ReflectionTestUtils.setField(service, "secret", "secret-1");
+		service.init();
+		SignedTokenUtil util = new SignedTokenUtil("secret-1");
+		String live = util.sign(new TokenEntity(1L, "zhangsan", "yonghu", "用户", null, new Date(System.currentTimeMillis() + 60000)));
+		String expired = util.sign(new TokenEntity(1L, "zhangsan", "yonghu", "用户", null, new Date(System.currentTimeMillis() - 1)));
+
+		assertEquals(Long.valueOf(1L), service.getTokenEntity(live).getUserid());
+		assertNull(service.getTokenEntity(expired));
+		assertNull(service.getTokenEntity(live + "x"));
+		verify(tokenStore, never()).findByToken(any(String.class));
+	}
+
+	@Test
+	void failedRenewalIsRetried() {
+		List<Integer> batches = new ArrayList<Integer>();
+		TokenStore failingOnce = (TokenStore) Proxy.newProxyInstance(TokenStore.class.getClassLoader(), new Class<?>[] { TokenStore.class },
+				(proxy, method, args) -> {
+					if(method.getName().equals("renew")) {
+						batches.add(((List<?>) args[0]).size());
+						if(batches.size() == 1) {
+							throw new IllegalStateException("connection reset");
+						}
+					}
+					if(method.getName().equals("stats")) {
+						return new HashMap<String, Object>();
+					}
+					return null;
+				});
+		ReflectionTestUtils.setField(service, "tokenStore", failingOnce);
+		ReflectionTestUtils.setField(service, "sliding", true);
+		String token = service.generateToken(1L, "zhangsan", "yonghu", "用户");
+		//剩余有效期不足一半，访问时续期
+		service.getTokenEntity(token).setExpiratedtime(new Date(System.currentTimeMillis() + 60000));
+		service.getTokenEntity(token);
+
+		service.flushRenewals();
+		assertEquals(1, service.stats().get("pendingRenewals"));
+		service.flushRenewals();
+
+		assertEquals(0, service.stats().get("pendingRenewals"));
+		assertEquals(2, batches.size());
+		assertEquals(Integer.valueOf(1), batches.get(1));
+	}
+}
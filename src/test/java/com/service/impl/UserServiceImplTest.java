@@ -0,0 +1,47 @@
+package com.service.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.lang.reflect.Proxy;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.dao.UserDao;
+import com.entity.UserEntity;
+import com.utils.SessionCache;
+import com.utils.TableVersions;
+
+class UserServiceImplTest {
+
+	@Test
+	void sessionNeverContainsPassword() {
+		UserDao userDao = (UserDao) Proxy.newProxyInstance(UserDao.class.getClassLoader(), new Class<?>[] { UserDao.class },
+				(proxy, method, args) -> {
+					if(method.getName().equals("selectById")) {
+						UserEntity user = new UserEntity();
+						user.setId((Long) args[0]);
+						user.setUsername("admin");
+						user.setPassword("admin");
+						return user;
+					}
+					throw new UnsupportedOperationException(method.getName());
+				});
+		SessionCache sessionCache = new SessionCache();
+		ReflectionTestUtils.setField(sessionCache, "tableVersions", new TableVersions());
+		ReflectionTestUtils.setField(sessionCache, "cacheSize", 10);
+		ReflectionTestUtils.setField(sessionCache, "cacheTtl", 300L);
+		sessionCache.init();
+		UserServiceImpl service = new UserServiceImpl();
+		ReflectionTestUtils.setField(service, "baseMapper", userDao);
+		ReflectionTestUtils.setField(service, "sessionCache", sessionCache);
+
+		UserEntity user = service.selectSessionById(1L);
+
+		assertEquals("admin", user.getUsername());
+		assertNull(user.getPassword());
+		//缓存中的也不包含密码
+		assertNull(service.selectSessionById(1L).getPassword());
+	}
+}
@@ -0,0 +1,112 @@
+package com.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Collections;
+import java.util.Map;
+
+import org.apache.ibatis.exceptions.PersistenceException;
+import org.apache.ibatis.session.ResultContext;
+import org.apache.ibatis.session.ResultHandler;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mybatis.spring.MyBatisSystemException;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+class JsonStreamWriterTest {
+
+	private JsonStreamWriter writer;
+
+	private MockHttpServletResponse response;
+
+	@BeforeEach
+	void setUp() {
+		writer = new JsonStreamWriter();
+		ReflectionTestUtils.setField(writer, "objectMapper", new ObjectMapper());
+		response = new MockHttpServletResponse();
+	}
+
+	@Test
+	void writesSameShapeAsR() throws IOException {
+		writer.<Map<String, Object>>writeList(response, handler -> {
+			emit(handler, Collections.<String, Object>singletonMap("id", 1));
+			emit(handler, Collections.<String, Object>singletonMap("id", 2));
+		});
+
+		assertEquals("{\"code\":0,\"data\":[{\"id\":1},{\"id\":2}]}", response.getContentAsString());
+	}
+
+	@Test
+	void unwrapsIOExceptionFromMyBatis() {
+		IOException broken = new IOException("Broken pipe");
+
+		IOException thrown = assertThrows(IOException.class, () -> writer.<Map<String, Object>>writeList(response, handler -> {
+			throw new MyBatisSystemException(new PersistenceException(new UncheckedIOException(broken)));
+		}));
+
+		assertSame(broken, thrown);
+	}
+
+	@Test
+	void failureBeforeCommitLeavesEmptyBody() throws IOException {
+		RuntimeException failure = new MyBatisSystemException(new PersistenceException("Lock wait timeout"));
+
+		RuntimeException thrown = assertThrows(RuntimeException.class, () -> writer.<Map<String, Object>>writeList(response, handler -> {
+			emit(handler, Collections.<String, Object>singletonMap("id", 1));
+			throw failure;
+		}));
+
+		assertSame(failure, thrown);
+		assertFalse(response.isCommitted());
+		assertEquals("", response.getContentAsString());
+	}
+
+	@Test
+	void failureAfterCommitTruncatesWithoutClosingJson() throws IOException {
+		response.setBufferSize(1);
+
+		assertThrows(RuntimeException.class, () -> writer.<Map<String, Object>>writeList(response, handler -> {
+			for(int i = 0; i < 2000; i++) {
+				emit(handler, Collections.<String, Object>singletonMap("name", "美食" + i));
+			}
+			throw new MyBatisSystemException(new PersistenceException("Connection reset"));
+		}));
+
+		assertTrue(response.isCommitted());
+		String content = response.getContentAsString();
+		assertTrue(content.startsWith("{\"code\":0,\"data\":[{\"name\":\"美食0\"}"));
+		assertFalse(content.endsWith("]}"));
+	}
+
+	private static void emit(ResultHandler<Map<String, Object>> handler, Map<String, Object> row) {
+		handler.handleResult(new ResultContext<Map<String, Object>>() {
+			@Override
+			public Map<String, Object> getResultObject() {
+				return row;
+			}
+
+			@Override
+			public int getResultCount() {
+				return 0;
+			}
+
+			@Override
+			public boolean isStopped() {
+				return false;
+			}
+
+			@Override
+			public void stop() {
+			}
+		});
+	}
+}
@@ -0,0 +1,84 @@
+package com.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import org.junit.jupiter.api.Test;
+
+class LruCacheTest {
+
+	@Test
+	void evictsLeastRecentlyUsedWhenFull() {
+		LruCache<String, Integer> cache = new LruCache<String, Integer>(2, 60000);
+		cache.put("a", 1);
+		cache.put("b", 2);
+		//访问a后，b成为最久未访问的条目
+		assertEquals(Integer.valueOf(1), cache.get("a"));
+
+		cache.put("c", 3);
+
+		assertEquals(2, cache.size());
+		assertNull(cache.get("b"));
+		assertEquals(Integer.valueOf(1), cache.get("a"));
+		assertEquals(Integer.valueOf(3), cache.get("c"));
+	}
+
+	@Test
+	void replacingKeyDoesNotEvict() {
+		LruCache<String, Integer> cache = new LruCache<String, Integer>(2, 60000);
+		cache.put("a", 1);
+		cache.put("b", 2);
+
+		cache.put("a", 10);
+
+		assertEquals(2, cache.size());
+		assertEquals(Integer.valueOf(10), cache.get("a"));
+		assertEquals(Integer.valueOf(2), cache.get("b"));
+	}
+
+	@Test
+	void expiredEntryIsRemovedOnGet() {
+		LruCache<String, Integer> cache = new LruCache<String, Integer>(10, 60000);
+		cache.put("a", 1, System.currentTimeMillis() - 1);
+
+		assertEquals(1, cache.size());
+		assertNull(cache.get("a"));
+		assertEquals(0, cache.size());
+	}
+
+	@Test
+	void expireAtIsCappedByTtl() throws InterruptedException {
+		LruCache<String, Integer> cache = new LruCache<String, Integer>(10, 20);
+		cache.put("a", 1, Long.MAX_VALUE);
+		assertEquals(Integer.valueOf(1), cache.get("a"));
+
+		Thread.sleep(50);
+
+		assertNull(cache.get("a"));
+	}
+
+	@Test
+	void evictExpiredKeepsLiveEntries() {
+		LruCache<String, Integer> cache = new LruCache<String, Integer>(10, 60000);
+		cache.put("old", 1, System.currentTimeMillis() - 1);
+		cache.put("live", 2);
+
+		cache.evictExpired();
+
+		assertEquals(1, cache.size());
+		assertEquals(Integer.valueOf(2), cache.get("live"));
+	}
+
+	@Test
+	void removeAndClear() {
+		LruCache<String, Integer> cache = new LruCache<String, Integer>(10, 60000);
+		cache.put("a", 1);
+		cache.put("b", 2);
+
+		assertEquals(Integer.valueOf(1), cache.remove("a"));
+		assertNull(cache.remove("a"));
+		cache.clear();
+
+		assertEquals(0, cache.size());
+	}
+}
@@ -0,0 +1,149 @@
+package com.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.beans.Introspector;
+import java.beans.PropertyDescriptor;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+import org.junit.jupiter.api.Test;
+
+import com.baomidou.mybatisplus.mapper.EntityWrapper;
+import com.baomidou.mybatisplus.mapper.Wrapper;
+import com.entity.ConfigEntity;
+import com.entity.MeishidianEntity;
+import com.entity.MeishidingdanEntity;
+import com.entity.MeishifenleiEntity;
+import com.entity.MeishipingjiaEntity;
+import com.entity.MeishixinxiEntity;
+import com.entity.NewsEntity;
+import com.entity.StoreupEntity;
+import com.entity.TokenEntity;
+import com.entity.UserEntity;
+import com.entity.YonghuEntity;
+
+import cn.hutool.core.bean.BeanUtil;
+
+/**
+ * 按类缓存属性读取方法后，结果须与原来每次用hutool BeanUtil反射转换的结果一致
+ */
+class MPUtilTest {
+
+	private static final List<Class<?>> ENTITIES = Arrays.<Class<?>>asList(ConfigEntity.class, MeishidianEntity.class, MeishidingdanEntity.class,
+			MeishifenleiEntity.class, MeishipingjiaEntity.class, MeishixinxiEntity.class, NewsEntity.class, StoreupEntity.class, TokenEntity.class,
+			UserEntity.class, YonghuEntity.class);
+
+	@Test
+	void allEQMapMatchesBeanUtil() throws Exception {
+		for(Class<?> type : ENTITIES) {
+			for(Object bean : Arrays.asList(filled(type, false), filled(type, true), type.newInstance())) {
+				for(String pre : Arrays.asList("", "t", "t.")) {
+					assertEquals(legacyAllEQMapPre(bean, pre), MPUtil.allEQMapPre(bean, pre), type.getSimpleName() + " pre=" + pre);
+				}
+				assertEquals(legacyAllEQMapPre(bean, ""), MPUtil.allEQMap(bean), type.getSimpleName());
+			}
+		}
+	}
+
+	@Test
+	void wrapperConditionsMatchBeanUtil() throws Exception {
+		for(Class<?> type : ENTITIES) {
+			Object strings = filled(type, true);
+			assertSameConditions(genLike(new EntityWrapper<Object>(), BeanUtil.beanToMap(strings, true, true)),
+					MPUtil.allLike(new EntityWrapper<Object>(), strings), type);
+			for(Object bean : Arrays.asList(filled(type, false), strings, type.newInstance())) {
+				assertSameConditions(genLikeOrEq(new EntityWrapper<Object>(), BeanUtil.beanToMap(bean, true, true)),
+						MPUtil.likeOrEq(new EntityWrapper<Object>(), bean), type);
+				assertSameConditions(MPUtil.genEq(new EntityWrapper<Object>(), BeanUtil.beanToMap(bean, true, true)),
+						MPUtil.allEq(new EntityWrapper<Object>(), bean), type);
+			}
+		}
+	}
+
+	@Test
+	void valueMatchesBeanUtil() throws Exception {
+		for(Class<?> type : ENTITIES) {
+			Object bean = filled(type, false);
+			Map<String, Object> expected = BeanUtil.beanToMap(bean, true, false);
+			for(Map.Entry<String, Object> entry : expected.entrySet()) {
+				assertEquals(entry.getValue(), MPUtil.value(bean, entry.getKey()), type.getSimpleName() + "." + entry.getKey());
+				assertEquals(entry.getValue(), MPUtil.value(bean, entry.getKey().toUpperCase()), type.getSimpleName() + "." + entry.getKey());
+			}
+			assertEquals(null, MPUtil.value(bean, "no_such_column"));
+		}
+	}
+
+	/**
+	 * 原实现
+	 */
+	@SuppressWarnings("unchecked")
+	private static Map<String, Object> legacyAllEQMapPre(Object bean, String pre) {
+		return MPUtil.camelToUnderlineMap(BeanUtil.beanToMap(bean), pre);
+	}
+
+	@SuppressWarnings("rawtypes")
+	private static Wrapper genLike(Wrapper wrapper, Map<String, Object> param) {
+		return MPUtil.genLike(wrapper, param);
+	}
+
+	@SuppressWarnings("rawtypes")
+	private static Wrapper genLikeOrEq(Wrapper wrapper, Map<String, Object> param) {
+		return MPUtil.genLikeOrEq(wrapper, param);
+	}
+
+	/**
+	 * 两种实现遍历属性的顺序不同，条件之间都是AND，比较条件集合即可
+	 */
+	@SuppressWarnings("rawtypes")
+	private static void assertSameConditions(Wrapper expected, Wrapper actual, Class<?> type) {
+		assertEquals(conditions(expected), conditions(actual), type.getSimpleName());
+	}
+
+	@SuppressWarnings("rawtypes")
+	private static TreeSet<String> conditions(Wrapper wrapper) {
+		TreeSet<String> conditions = new TreeSet<String>();
+		String segment = wrapper.getSqlSegment();
+		if(segment == null) {
+			return conditions;
+		}
+		Map<?, ?> params = wrapper.getParamNameValuePairs();
+		for(String condition : segment.replaceAll("^\\s*(AND|WHERE)\\s*\\(|\\)\\s*$", "").split("\\s+AND\\s+")) {
+			StringBuilder resolved = new StringBuilder(condition.trim());
+			int start;
+			while((start = resolved.indexOf("#{")) >= 0) {
+				int end = resolved.indexOf("}", start);
+				String name = resolved.substring(start + 2, end).replace("ew.paramNameValuePairs.", "");
+				resolved.replace(start, end + 1, String.valueOf(params.get(name)));
+			}
+			conditions.add(resolved.toString());
+		}
+		return conditions;
+	}
+
+	/**
+	 * 每个属性赋不同的值
+	 * @param stringsOnly 只给字符串属性赋值，其余为null(allLike只支持字符串)
+	 */
+	private static Object filled(Class<?> type, boolean stringsOnly) throws Exception {
+		Object bean = type.newInstance();
+		Map<Class<?>, Object> samples = new HashMap<Class<?>, Object>();
+		samples.put(Long.class, 7L);
+		samples.put(Integer.class, 3);
+		samples.put(Date.class, new Date(1615533000000L));
+		int i = 0;
+		for(PropertyDescriptor descriptor : Introspector.getBeanInfo(type).getPropertyDescriptors()) {
+			if(descriptor.getWriteMethod() == null) {
+				continue;
+			}
+			Class<?> propertyType = descriptor.getPropertyType();
+			Object value = propertyType == String.class ? descriptor.getName() + (i++ % 2 == 0 ? "%" : "") : stringsOnly ? null : samples.get(propertyType);
+			descriptor.getWriteMethod().invoke(bean, value);
+		}
+		return bean;
+	}
+}
@@ -0,0 +1,184 @@
+package com.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.baomidou.mybatisplus.mapper.EntityWrapper;
+import com.baomidou.mybatisplus.mapper.Wrapper;
+import com.entity.EIException;
+import com.entity.NewsEntity;
+
+class PageQueryTemplateTest {
+
+	private PageQueryTemplate template;
+
+	/**
+	 * 模拟dao，返回预置的记录并记下查询条件和每页条数
+	 */
+	private List<NewsEntity> rows;
+
+	private Wrapper<NewsEntity> selected;
+
+	private int selectedSize;
+
+	@BeforeEach
+	void setUp() {
+		template = new PageQueryTemplate();
+		ReflectionTestUtils.setField(template, "tableVersions", new TableVersions());
+		ReflectionTestUtils.setField(template, "countCacheSize", 10);
+		ReflectionTestUtils.setField(template, "countCacheTtl", 60L);
+		ReflectionTestUtils.setField(template, "resultCacheTables", new String[0]);
+		ReflectionTestUtils.setField(template, "resultCacheSize", 10);
+		ReflectionTestUtils.setField(template, "resultCacheTtl", 30L);
+		ReflectionTestUtils.setField(template, "cursorMaxLimit", 50);
+		template.init();
+		rows = new ArrayList<NewsEntity>();
+	}
+
+	private PageUtils query(Map<String, Object> params) {
+		return template.queryPage(NewsEntity.class, null, params, new EntityWrapper<NewsEntity>(), (page, wrapper) -> {
+			selected = wrapper;
+			selectedSize = page.getSize();
+			return rows;
+		});
+	}
+
+	private static Map<String, Object> params(String cursor, String sort, String order) {
+		Map<String, Object> params = new HashMap<String, Object>();
+		params.put(PageQueryTemplate.CURSOR, cursor);
+		params.put("limit", "2");
+		if(sort != null) {
+			params.put("sort", sort);
+		}
+		if(order != null) {
+			params.put("order", order);
+		}
+		return params;
+	}
+
+	private static NewsEntity news(long id, Date addtime) {
+		NewsEntity news = new NewsEntity();
+		news.setId(id);
+		news.setAddtime(addtime);
+		return news;
+	}
+
+	@Test
+	void cursorOfLastRecordSeeksPastIt() {
+		Date second = new Date(1615533000000L);
+		rows.addAll(Arrays.asList(news(1, new Date(1615532000000L)), news(2, second), news(3, new Date(1615534000000L))));
+
+		PageUtils first = query(params("", "addtime", "asc"));
+
+		//多取一条判断是否有下一页
+		assertEquals(3, selectedSize);
+		assertEquals(2, first.getList().size());
+		assertEquals(-1, first.getTotal());
+		assertNotNull(first.getNextCursor());
+
+		rows.clear();
+		PageUtils next = query(params(first.getNextCursor(), "addtime", "asc"));
+
+		String segment = selected.getSqlSegment();
+		assertTrue(segment.contains("addtime > #{"), segment);
+		assertTrue(segment.contains("addtime = #{"), segment);
+		assertTrue(segment.contains("id > #{"), segment);
+		assertTrue(segment.contains("ORDER BY id"), segment);
+		//日期按毫秒编码，解码后仍是Date
+		assertTrue(selected.getParamNameValuePairs().containsValue(second), selected.getParamNameValuePairs().toString());
+		assertTrue(selected.getParamNameValuePairs().containsValue(2L), selected.getParamNameValuePairs().toString());
+		assertNull(next.getNextCursor());
+	}
+
+	@Test
+	void defaultSortSeeksById() {
+		rows.addAll(Arrays.asList(news(5, null), news(4, null), news(3, null)));
+
+		String cursor = query(params("", null, "desc")).getNextCursor();
+		query(params(cursor, null, "desc"));
+
+		assertTrue(selected.getSqlSegment().contains("id < #{"), selected.getSqlSegment());
+		assertTrue(selected.getParamNameValuePairs().containsValue(4L));
+	}
+
+	@Test
+	void nullSortValueSeeksWithinNulls() {
+		rows.addAll(Arrays.asList(news(1, new Date()), news(2, null), news(3, null)));
+
+		String cursor = query(params("", "addtime", "desc")).getNextCursor();
+		query(params(cursor, "addtime", "desc"));
+
+		//降序时null排最后，游标之后只剩id更小的null
+		assertTrue(selected.getSqlSegment().contains("addtime IS NULL AND id < #{"), selected.getSqlSegment());
+	}
+
+	@Test
+	void lastPageHasNoCursor() {
+		rows.addAll(Arrays.asList(news(1, null), news(2, null)));
+
+		PageUtils page = query(params("", null, null));
+
+		assertEquals(2, page.getList().size());
+		assertNull(page.getNextCursor());
+	}
+
+	@Test
+	void limitIsClampedToRange() {
+		rows.addAll(Arrays.asList(news(1, null), news(2, null)));
+		Map<String, Object> params = params("", null, null);
+		params.put("limit", "0");
+
+		PageUtils page = query(params);
+
+		assertEquals(2, selectedSize);
+		assertEquals(1, page.getList().size());
+		assertNotNull(page.getNextCursor());
+
+		params.put("limit", "100000");
+		query(params);
+		assertEquals(51, selectedSize);
+	}
+
+	@Test
+	void rejectsMalformedCursor() {
+		EIException e = assertThrows(EIException.class, () -> query(params("not-base64!", null, null)));
+		assertEquals("cursor参数不合法", e.getMessage());
+
+		String notJson = Base64.getUrlEncoder().encodeToString("abc".getBytes(StandardCharsets.UTF_8));
+		assertEquals("cursor参数不合法", assertThrows(EIException.class, () -> query(params(notJson, null, null))).getMessage());
+
+		String noId = Base64.getUrlEncoder().encodeToString("{\"s\":\"id\",\"a\":true}".getBytes(StandardCharsets.UTF_8));
+		assertEquals("cursor与当前排序不一致", assertThrows(EIException.class, () -> query(params(noId, null, null))).getMessage());
+	}
+
+	@Test
+	void rejectsCursorOfOtherSort() {
+		rows.addAll(Arrays.asList(news(1, new Date()), news(2, new Date()), news(3, new Date())));
+		String cursor = query(params("", "addtime", "asc")).getNextCursor();
+
+		assertEquals("cursor与当前排序不一致", assertThrows(EIException.class, () -> query(params(cursor, "addtime", "desc"))).getMessage());
+		assertEquals("cursor与当前排序不一致", assertThrows(EIException.class, () -> query(params(cursor, "id", "asc"))).getMessage());
+	}
+
+	@Test
+	void rejectsInvalidSortColumn() {
+		EIException e = assertThrows(EIException.class, () -> query(params("", "id;drop table news", null)));
+		assertTrue(e.getMessage().startsWith("排序字段不合法"));
+	}
+}
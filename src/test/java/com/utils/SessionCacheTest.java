@@ -0,0 +1,94 @@
+package com.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+class SessionCacheTest {
+
+	private TableVersions tableVersions;
+
+	private SessionCache cache;
+
+	/**
+	 * 模拟账号表，记录查询次数
+	 */
+	private final Map<Long, String> rows = new HashMap<Long, String>();
+
+	private int loads;
+
+	private final Function<Long, String> loader = id -> {
+		loads++;
+		return rows.get(id);
+	};
+
+	@BeforeEach
+	void setUp() {
+		tableVersions = new TableVersions();
+		cache = new SessionCache();
+		ReflectionTestUtils.setField(cache, "tableVersions", tableVersions);
+		ReflectionTestUtils.setField(cache, "cacheSize", 100);
+		ReflectionTestUtils.setField(cache, "cacheTtl", 300L);
+		cache.init();
+	}
+
+	@Test
+	void repeatedReadsHitCache() {
+		rows.put(1L, "zhangsan");
+
+		assertEquals("zhangsan", cache.get("yonghu", 1L, loader));
+		assertEquals("zhangsan", cache.get("yonghu", 1L, loader));
+
+		assertEquals(1, loads);
+	}
+
+	@Test
+	void anyWriteToTableInvalidates() {
+		rows.put(1L, "zhangsan");
+		cache.get("yonghu", 1L, loader);
+
+		//CommonController的/sh等不经过服务的写操作同样由TableVersionInterceptor更新版本号
+		rows.put(1L, "lisi");
+		tableVersions.bump("yonghu");
+
+		assertEquals("lisi", cache.get("yonghu", 1L, loader));
+		assertEquals(2, loads);
+	}
+
+	@Test
+	void writeToOtherTableKeepsEntry() {
+		rows.put(1L, "zhangsan");
+		cache.get("yonghu", 1L, loader);
+
+		tableVersions.bump("meishidian");
+
+		assertEquals("zhangsan", cache.get("yonghu", 1L, loader));
+		assertEquals(1, loads);
+	}
+
+	@Test
+	void sameIdInOtherTableIsSeparate() {
+		rows.put(1L, "zhangsan");
+		cache.get("yonghu", 1L, loader);
+
+		assertEquals("admin", cache.get("users", 1L, id -> "admin"));
+		assertEquals("zhangsan", cache.get("yonghu", 1L, loader));
+	}
+
+	@Test
+	void missingAccountIsNotCached() {
+		assertNull(cache.get("yonghu", 1L, loader));
+		rows.put(1L, "zhangsan");
+
+		assertEquals("zhangsan", cache.get("yonghu", 1L, loader));
+		assertNull(cache.get("yonghu", null, loader));
+		assertEquals(2, loads);
+	}
+}
@@ -0,0 +1,85 @@
+package com.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Date;
+
+import org.junit.jupiter.api.Test;
+
+import com.entity.TokenEntity;
+
+class SignedTokenUtilTest {
+
+	private final SignedTokenUtil util = new SignedTokenUtil("secret-1");
+
+	private final Date expiratedtime = new Date(System.currentTimeMillis() + 3600000);
+
+	private String sign() {
+		return util.sign(new TokenEntity(5L, "zhangsan", "yonghu", "用户", null, expiratedtime));
+	}
+
+	@Test
+	void roundTrip() {
+		String token = sign();
+
+		TokenEntity tokenEntity = util.verify(token);
+
+		assertTrue(SignedTokenUtil.isSigned(token));
+		assertEquals(Long.valueOf(5L), tokenEntity.getUserid());
+		assertEquals("zhangsan", tokenEntity.getUsername());
+		assertEquals("yonghu", tokenEntity.getTablename());
+		assertEquals("用户", tokenEntity.getRole());
+		assertEquals(token, tokenEntity.getToken());
+		assertEquals(expiratedtime, tokenEntity.getExpiratedtime());
+	}
+
+	@Test
+	void rejectsTamperedPayload() {
+		String token = sign();
+		String signature = token.substring(token.indexOf('.'));
+		String payload = new String(Base64.getUrlDecoder().decode(token.substring(0, token.indexOf('.'))), StandardCharsets.UTF_8);
+		String forged = payload.replace("\"u\":5", "\"u\":1");
+
+		assertNull(util.verify(Base64.getUrlEncoder().withoutPadding().encodeToString(forged.getBytes(StandardCharsets.UTF_8)) + signature));
+	}
+
+	@Test
+	void rejectsTamperedSignature() {
+		String token = sign();
+		int dot = token.indexOf('.');
+		//改签名的第一个字符，最后一个字符的低位是补齐位，改动后可能解码出相同的签名
+		char first = token.charAt(dot + 1);
+
+		assertNull(util.verify(token.substring(0, dot + 1) + (first == 'A' ? 'B' : 'A') + token.substring(dot + 2)));
+	}
+
+	@Test
+	void rejectsTokenSignedWithOtherSecret() {
+		String token = new SignedTokenUtil("secret-2").sign(new TokenEntity(5L, "zhangsan", "yonghu", "用户", null, expiratedtime));
+
+		assertNull(util.verify(token));
+	}
+
+	@Test
+	void rejectsMalformedTokens() {
+		assertNull(util.verify("abc."));
+		assertNull(util.verify(".abc"));
+		assertNull(util.verify("not-base64!.@@@"));
+		assertNull(util.verify("abc.def"));
+		assertFalse(SignedTokenUtil.isSigned("a1b2c3d4e5f6g7h8i9j0k1l2m3n4o5p6"));
+		assertFalse(SignedTokenUtil.isSigned(null));
+	}
+
+	@Test
+	void verifyLeavesExpiryToCaller() {
+		Date past = new Date(System.currentTimeMillis() - 1000);
+		String token = util.sign(new TokenEntity(5L, "zhangsan", "yonghu", "用户", null, past));
+
+		assertEquals(past, util.verify(token).getExpiratedtime());
+	}
+}
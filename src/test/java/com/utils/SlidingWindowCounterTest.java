@@ -0,0 +1,67 @@
+package com.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.junit.jupiter.api.Test;
+
+class SlidingWindowCounterTest {
+
+	private static final long BUCKET = 1000;
+
+	@Test
+	void sumsRecentBucketsIncludingCurrent() {
+		SlidingWindowCounter counter = new SlidingWindowCounter(BUCKET, 4);
+		counter.add(0, 1);
+		counter.add(999, 2);
+		counter.add(1000, 3);
+		counter.add(2500, 4);
+
+		assertEquals(4, counter.sum(2500, 1));
+		assertEquals(7, counter.sum(2500, 2));
+		assertEquals(10, counter.sum(2500, 3));
+		assertEquals(10, counter.sum(2500, 100));
+	}
+
+	@Test
+	void bucketsOutsideWindowAreNotCounted() {
+		SlidingWindowCounter counter = new SlidingWindowCounter(BUCKET, 4);
+		counter.add(0, 5);
+
+		//第0桶仍在槽位中，但已不在最近3个桶内
+		assertEquals(0, counter.sum(3000, 3));
+		assertEquals(5, counter.sum(3000, 4));
+	}
+
+	@Test
+	void reusedSlotIsResetOnRollover() {
+		SlidingWindowCounter counter = new SlidingWindowCounter(BUCKET, 4);
+		counter.add(1000, 5);
+
+		//第5桶与第1桶共用槽位，复用时丢弃旧计数
+		counter.add(5000, 1);
+
+		assertEquals(1, counter.sum(5000, 4));
+		counter.add(5000, 2);
+		assertEquals(3, counter.sum(5000, 1));
+	}
+
+	@Test
+	void staleSlotIsIgnoredWithoutWrite() {
+		SlidingWindowCounter counter = new SlidingWindowCounter(BUCKET, 4);
+		counter.add(1000, 5);
+
+		//长时间无计数，槽位未被覆盖，也不能算入当前窗口
+		assertEquals(0, counter.sum(9000, 4));
+	}
+
+	@Test
+	void lastTimeIsStartOfLatestBucket() {
+		SlidingWindowCounter counter = new SlidingWindowCounter(BUCKET, 4);
+		assertEquals(-1, counter.lastTime());
+
+		counter.add(1500, 1);
+		counter.add(6200, 1);
+
+		assertEquals(6000, counter.lastTime());
+	}
+}
@@ -0,0 +1,33 @@
+package com.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+class TableVersionsTest {
+
+	@Test
+	void readingUnknownTableDoesNotCreateVersion() {
+		TableVersions tableVersions = new TableVersions();
+
+		for(int i = 0; i < 100; i++) {
+			assertEquals(0, tableVersions.get("no_such_table_" + i));
+		}
+
+		assertEquals(0, ((Map<?, ?>) ReflectionTestUtils.getField(tableVersions, "versions")).size());
+	}
+
+	@Test
+	void bumpIsVisibleIgnoringCase() {
+		TableVersions tableVersions = new TableVersions();
+
+		tableVersions.bump("Meishixinxi");
+		tableVersions.bump("meishixinxi");
+
+		assertEquals(2, tableVersions.get("MEISHIXINXI"));
+		assertEquals(0, tableVersions.get("news"));
+	}
+}